@@ -0,0 +1,15 @@
+// Road markings: a static mesh whose moving vertices (a_scroll = 1) are shifted down by u_offset.
+attribute vec4 a_position;
+attribute vec4 a_color;
+attribute float a_scroll;
+
+uniform mat4 u_projTrans;
+uniform float u_offset;
+
+varying vec4 v_color;
+
+void main() {
+    v_color = a_color;
+    v_color.a = v_color.a * (255.0 / 254.0); // Packed colors drop the lowest alpha bit
+    gl_Position = u_projTrans * vec4(a_position.x, a_position.y - a_scroll * u_offset, 0.0, 1.0);
+}
@@ -0,0 +1,79 @@
+package com.gdx.game.benchmarks;
+
+import com.gdx.game.AabbKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The collision kernels on their own: a batch of missile-sized boxes, each tested against every
+ * enemy of a swarm, as a grid does with one cell holding the whole road. Compare the scalar and
+ * vector scores at the same {@code boxCount}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AabbKernelBenchmark {
+
+    private static final float ROAD_LEFT = 220;
+    private static final float ROAD_RIGHT = 860;
+    private static final float HEIGHT = 800;
+    private static final int QUERIES = 64;
+
+    @Param({"scalar", "vector"})
+    public String kernelName;
+
+    @Param({"16", "256", "4096", "65536"})
+    public int boxCount;
+
+    private AabbKernel kernel;
+    private float[] minX;
+    private float[] minY;
+    private float[] maxX;
+    private float[] maxY;
+    private final float[] queryX = new float[QUERIES];
+    private final float[] queryY = new float[QUERIES];
+    private int[] hits;
+
+    @Setup
+    public void setUp() {
+        kernel = "vector".equals(kernelName) ? AabbKernel.vector() : AabbKernel.scalar();
+        if (kernel == null) {
+            throw new IllegalStateException("jdk.incubator.vector is not available");
+        }
+        Random random = new Random(42);
+        minX = new float[boxCount];
+        minY = new float[boxCount];
+        maxX = new float[boxCount];
+        maxY = new float[boxCount];
+        for (int i = 0; i < boxCount; i++) {
+            minX[i] = ROAD_LEFT + random.nextFloat() * (ROAD_RIGHT - ROAD_LEFT - 100);
+            minY[i] = random.nextFloat() * HEIGHT;
+            maxX[i] = minX[i] + 100;
+            maxY[i] = minY[i] + 160;
+        }
+        for (int i = 0; i < QUERIES; i++) {
+            queryX[i] = ROAD_LEFT + random.nextFloat() * (ROAD_RIGHT - ROAD_LEFT - 10);
+            queryY[i] = random.nextFloat() * HEIGHT;
+        }
+        hits = new int[boxCount];
+    }
+
+    @Benchmark
+    public int overlaps() {
+        int total = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            total += kernel.overlaps(queryX[i], queryY[i], queryX[i] + 10, queryY[i] + 40,
+                minX, minY, maxX, maxY, 0, boxCount, hits);
+        }
+        return total;
+    }
+}
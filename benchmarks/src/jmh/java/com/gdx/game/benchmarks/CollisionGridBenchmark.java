@@ -0,0 +1,69 @@
+package com.gdx.game.benchmarks;
+
+import com.gdx.game.AabbKernel;
+import com.gdx.game.CollisionGrid;
+import com.gdx.game.EntityStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Broadphase build plus missile queries at several entity counts. Entities are only counted,
+ * never killed, so every invocation sees the same layout. Runs with both collision kernels.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionGridBenchmark {
+
+    private static final float ROAD_LEFT = 220;
+    private static final float ROAD_RIGHT = 860;
+    private static final float HEIGHT = 800;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int entityCount;
+
+    @Param({"scalar", "vector"})
+    public String kernelName;
+
+    private EntityStore enemies;
+    private EntityStore missiles;
+    private CollisionGrid grid;
+    private int hits;
+    private final CollisionGrid.HitListener counter = (missile, enemy) -> hits++;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        enemies = new EntityStore(entityCount);
+        missiles = new EntityStore(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            enemies.add(ROAD_LEFT + random.nextFloat() * (ROAD_RIGHT - ROAD_LEFT - 100),
+                random.nextFloat() * HEIGHT, 100, 160, 1);
+            missiles.add(ROAD_LEFT + random.nextFloat() * (ROAD_RIGHT - ROAD_LEFT - 10),
+                random.nextFloat() * HEIGHT, 10, 40, 0);
+        }
+        AabbKernel kernel = "vector".equals(kernelName) ? AabbKernel.vector() : AabbKernel.scalar();
+        if (kernel == null) {
+            throw new IllegalStateException("jdk.incubator.vector is not available");
+        }
+        grid = new CollisionGrid(128, kernel);
+        grid.setBounds(ROAD_LEFT, 0, ROAD_RIGHT, HEIGHT);
+    }
+
+    @Benchmark
+    public int buildAndQuery() {
+        hits = 0;
+        grid.build(enemies);
+        grid.query(missiles, counter);
+        return hits;
+    }
+}
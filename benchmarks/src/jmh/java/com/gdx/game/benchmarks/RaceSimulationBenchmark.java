@@ -0,0 +1,48 @@
+package com.gdx.game.benchmarks;
+
+import com.gdx.game.InputState;
+import com.gdx.game.RaceSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one full simulation tick (car, scrolling, missiles, spawning, enemies, collisions),
+ * with the car weaving and firing so that there are missiles and hits to process.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RaceSimulationBenchmark {
+
+    private RaceSimulation simulation;
+    private InputState input;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        simulation = new RaceSimulation(1080, 800, 60);
+        input = new InputState();
+        simulation.reset(seed);
+    }
+
+    @Benchmark
+    public int tick() {
+        long tick = simulation.getTick();
+        input.clear();
+        input.set((tick / 90) % 2 == 0 ? InputState.LEFT : InputState.RIGHT, true);
+        if (tick % 10 == 0) input.press(InputState.FIRE);
+
+        simulation.tick(input);
+        if (simulation.isGameOver()) {
+            simulation.reset(++seed);
+        }
+        return simulation.getScore();
+    }
+}
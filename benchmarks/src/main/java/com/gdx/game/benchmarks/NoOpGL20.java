@@ -0,0 +1,58 @@
+package com.gdx.game.benchmarks;
+
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * A {@link GL20} that draws nothing, so that SpriteBatch, Texture and ShaderProgram work on a
+ * machine without a GPU. Every call returns zero, except that object names are unique, shaders
+ * compile and link, and framebuffers are complete. CPU-side work such as filling the batch's
+ * vertices still happens, which is what the stress test measures.
+ */
+final class NoOpGL20 {
+
+    private NoOpGL20() {
+    }
+
+    static GL20 create() {
+        int[] names = {0};
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] {GL20.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "glGenTexture":
+                    case "glGenBuffer":
+                    case "glGenFramebuffer":
+                    case "glGenRenderbuffer":
+                    case "glCreateShader":
+                    case "glCreateProgram":
+                        return ++names[0];
+                    case "glGetShaderiv":
+                    case "glGetProgramiv":
+                        int pname = (Integer) args[1];
+                        boolean ok = pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS;
+                        ((IntBuffer) args[2]).put(0, ok ? 1 : 0);
+                        return null;
+                    case "glCheckFramebufferStatus":
+                        return GL20.GL_FRAMEBUFFER_COMPLETE;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "NoOpGL20";
+                    default:
+                        return defaultValue(method.getReturnType());
+                }
+            });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == int.class) return 0;
+        if (type == boolean.class) return false;
+        if (type == float.class) return 0f;
+        if (type == String.class) return "";
+        return null;
+    }
+}
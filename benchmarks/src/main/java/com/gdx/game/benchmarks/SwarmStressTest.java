@@ -0,0 +1,289 @@
+package com.gdx.game.benchmarks;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.gdx.game.DifficultyParams;
+import com.gdx.game.EntityStore;
+import com.gdx.game.InputState;
+import com.gdx.game.RaceSimulation;
+import com.gdx.game.RenderQueue;
+import com.gdx.game.SpawnTable;
+import com.gdx.game.SpriteBatchBackend;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Load test of a race frame at swarm sizes far beyond normal play: keeps a given number of
+ * enemies and missiles on the road (half each), ticks the {@link RaceSimulation} and draws
+ * everything through a {@link RenderQueue} and SpriteBatch the way {@code CarGame} does, for a fixed number of ticks. Runs
+ * on the headless backend with a {@link NoOpGL20}, so it works on a CI machine without a GPU.
+ *
+ * <p>The world is made taller as the swarm grows, so that the density stays that of a busy race
+ * and a slowdown shows the cost of the count itself. The car keeps a free column so the race
+ * never ends; missiles and enemies that destroy each other are replaced every tick.
+ *
+ * <pre>
+ * SwarmStressTest [ticks] [entity counts, comma separated] [min ticks/s, 0 for no check]
+ * </pre>
+ * Prints one line per count and exits with 1 if any count ran slower than the minimum.
+ */
+public class SwarmStressTest extends ApplicationAdapter {
+
+    private static final int TICKS_PER_SECOND = 60;
+    private static final float WORLD_WIDTH = 1080;
+    private static final float MIN_WORLD_HEIGHT = 800;
+    // Road area per entity in square pixels; about what the densest waves reach
+    private static final float AREA_PER_ENTITY = 12_800;
+    private static final int WARMUP_COUNT = 1_000;
+    private static final int WARMUP_TICKS = 300;
+
+    private final int ticks;
+    private final int[] counts;
+    private final double minTicksPerSecond;
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile int exitCode;
+
+    private SpriteBatch batch;
+    private Texture atlasPage; // Stands in for the sprite atlas
+    private Texture crowd;
+    private TextureRegion[] entityRegions;
+    private RenderQueue queue;
+    private SpriteBatchBackend backend;
+    private int atlasTexture;
+    private int crowdTexture;
+
+    public SwarmStressTest(int ticks, int[] counts, double minTicksPerSecond) {
+        this.ticks = ticks;
+        this.counts = counts;
+        this.minTicksPerSecond = minTicksPerSecond;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 600;
+        String[] countArgs = (args.length > 1 ? args[1] : "1000,10000,50000").split(",");
+        double minTicksPerSecond = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+        int[] counts = new int[countArgs.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = Integer.parseInt(countArgs[i].trim());
+        }
+
+        SwarmStressTest test = new SwarmStressTest(ticks, counts, minTicksPerSecond);
+        HeadlessApplicationConfiguration configuration = new HeadlessApplicationConfiguration();
+        configuration.updatesPerSecond = -1; // Only create() does any work
+        new HeadlessApplication(test, configuration);
+        test.done.await();
+        System.exit(test.exitCode);
+    }
+
+    @Override
+    public void create() {
+        Gdx.gl = Gdx.gl20 = NoOpGL20.create();
+        try {
+            setUpGraphics();
+            run(WARMUP_COUNT, WARMUP_TICKS); // Lets the JIT compile the hot paths first
+
+            System.out.printf("%d ticks per run, %d ticks/s in game%n", ticks, TICKS_PER_SECOND);
+            System.out.println("entities | ticks/s | sim ms/tick | draw ms/tick | sprites/tick | flushes/tick | peak heap MB");
+            for (int count : counts) {
+                Result result = run(count, ticks);
+                System.out.println(result);
+                if (result.ticksPerSecond() < minTicksPerSecond) {
+                    System.out.printf("FAILED: %d entities ran at %.0f ticks/s, below the minimum of %.0f%n",
+                        count, result.ticksPerSecond(), minTicksPerSecond);
+                    exitCode = 1;
+                }
+            }
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            exitCode = 2;
+        } finally {
+            dispose();
+            Gdx.app.exit();
+            done.countDown();
+        }
+    }
+
+    private void setUpGraphics() {
+        batch = new SpriteBatch();
+        Pixmap pixmap = new Pixmap(64, 64, Pixmap.Format.RGBA8888);
+        atlasPage = new Texture(pixmap);
+        crowd = new Texture(pixmap);
+        pixmap.dispose();
+        // Indexed by the RaceSimulation.TEXTURE_* ids, like CarGame's
+        entityRegions = new TextureRegion[] {
+            new TextureRegion(atlasPage, 0, 0, 32, 32),
+            new TextureRegion(atlasPage, 32, 0, 32, 32),
+            new TextureRegion(atlasPage, 0, 32, 32, 32)};
+        backend = new SpriteBatchBackend(batch);
+        crowdTexture = backend.register(crowd);
+        atlasTexture = backend.register(atlasPage);
+        queue = new RenderQueue(2, backend.getTextureCount(), WARMUP_COUNT);
+    }
+
+    private Result run(int count, int ticks) {
+        float worldHeight = Math.max(MIN_WORLD_HEIGHT,
+            count * AREA_PER_ENTITY / (WORLD_WIDTH - 2 * (RaceSimulation.GRASS_WIDTH + RaceSimulation.BORDER_WIDTH)));
+        // No waves: the swarm is the only traffic
+        DifficultyParams difficulty = new DifficultyParams(300, 0, 10, 1, 180, Integer.MAX_VALUE);
+        RaceSimulation simulation = new RaceSimulation(WORLD_WIDTH, worldHeight, TICKS_PER_SECOND, difficulty,
+            SpawnTable.parse("lanes 1\n"));
+        simulation.reset(count);
+        Random random = new Random(count);
+        InputState input = new InputState();
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = heapPools();
+        for (MemoryPoolMXBean pool : heapPools) {
+            pool.resetPeakUsage();
+        }
+
+        long simulationNanos = 0;
+        long drawNanos = 0;
+        long sprites = 0;
+        int flushesBefore = batch.totalRenderCalls;
+        long start = System.nanoTime();
+        for (int i = 0; i < ticks && !simulation.isGameOver(); i++) {
+            long tickStart = System.nanoTime();
+            fill(simulation, count / 2, count - count / 2, random);
+            simulation.tick(input);
+            long drawStart = System.nanoTime();
+            sprites += draw(simulation);
+            long drawEnd = System.nanoTime();
+            simulationNanos += drawStart - tickStart;
+            drawNanos += drawEnd - drawStart;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (simulation.isGameOver()) {
+            throw new IllegalStateException("The car was hit with " + count + " entities; the free column is broken");
+        }
+
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peakHeap += pool.getPeakUsage().getUsed();
+        }
+        return new Result(count, ticks, elapsed, simulationNanos, drawNanos, sprites,
+            batch.totalRenderCalls - flushesBefore, peakHeap);
+    }
+
+    /** Tops the swarm up to the target counts, anywhere on the road except the car's column. */
+    private static void fill(RaceSimulation simulation, int enemyCount, int missileCount, Random random) {
+        float roadLeft = RaceSimulation.GRASS_WIDTH + RaceSimulation.BORDER_WIDTH;
+        float roadRight = simulation.getWorldWidth() - roadLeft;
+        float carLeft = simulation.getCarX() - RaceSimulation.ENEMY_WIDTH;
+        float carRight = simulation.getCarX() + RaceSimulation.CAR_WIDTH;
+        float height = simulation.getWorldHeight();
+
+        EntityStore enemies = simulation.getEnemies();
+        while (enemies.size() < enemyCount) {
+            float x = freeX(roadLeft, roadRight - RaceSimulation.ENEMY_WIDTH, carLeft, carRight, random);
+            int texture = random.nextBoolean() ? RaceSimulation.TEXTURE_YELLOW_ENEMY : RaceSimulation.TEXTURE_BLUE_ENEMY;
+            enemies.add(x, random.nextFloat() * height, RaceSimulation.ENEMY_WIDTH, RaceSimulation.ENEMY_HEIGHT, texture);
+        }
+        EntityStore missiles = simulation.getMissiles();
+        while (missiles.size() < missileCount) {
+            float x = freeX(roadLeft, roadRight - RaceSimulation.MISSILE_WIDTH, carLeft, carRight, random);
+            missiles.add(x, random.nextFloat() * height, RaceSimulation.MISSILE_WIDTH, RaceSimulation.MISSILE_HEIGHT,
+                RaceSimulation.TEXTURE_CAR);
+        }
+    }
+
+    /** A random x in {@code [min, max)} outside {@code [excludeMin, excludeMax]}. */
+    private static float freeX(float min, float max, float excludeMin, float excludeMax, Random random) {
+        float left = Math.max(0, excludeMin - min);
+        float right = Math.max(0, max - excludeMax);
+        float offset = random.nextFloat() * (left + right);
+        return offset < left ? min + offset : excludeMax + 1 + (offset - left);
+    }
+
+    /** Draws a frame the way CarGame does, minus the road mesh; returns the sprites submitted. */
+    private int draw(RaceSimulation simulation) {
+        float height = simulation.getWorldHeight();
+        queue.sprite(0, crowdTexture, 0, 0, RaceSimulation.GRASS_WIDTH, height, 0, 1, 1, 0);
+        queue.sprite(0, crowdTexture, simulation.getWorldWidth() - RaceSimulation.GRASS_WIDTH, 0,
+            RaceSimulation.GRASS_WIDTH, height, 0, 1, 1, 0);
+        backend.queue(queue, 1, atlasTexture, entityRegions[RaceSimulation.TEXTURE_CAR],
+            simulation.getInterpolatedCarX(1), simulation.getInterpolatedCarY(1),
+            RaceSimulation.CAR_WIDTH, RaceSimulation.CAR_HEIGHT);
+        queueEntities(simulation.getMissiles());
+        queueEntities(simulation.getEnemies());
+        int sprites = queue.size();
+        batch.begin();
+        queue.submit(backend);
+        batch.end();
+        return sprites;
+    }
+
+    private void queueEntities(EntityStore entities) {
+        for (int i = 0; i < entities.size(); i++) {
+            backend.queue(queue, 1, atlasTexture, entityRegions[entities.getTextureId(i)],
+                entities.getInterpolatedX(i, 1), entities.getInterpolatedY(i, 1),
+                entities.getWidth(i), entities.getHeight(i));
+        }
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> pools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+
+    @Override
+    public void dispose() {
+        if (batch != null) {
+            batch.dispose();
+            atlasPage.dispose();
+            crowd.dispose();
+            batch = null;
+        }
+    }
+
+    private static class Result {
+        final int count;
+        final int ticks;
+        final long elapsedNanos;
+        final long simulationNanos;
+        final long drawNanos;
+        final long sprites;
+        final int flushes;
+        final long peakHeapBytes;
+
+        Result(int count, int ticks, long elapsedNanos, long simulationNanos, long drawNanos, long sprites,
+               int flushes, long peakHeapBytes) {
+            this.count = count;
+            this.ticks = ticks;
+            this.elapsedNanos = elapsedNanos;
+            this.simulationNanos = simulationNanos;
+            this.drawNanos = drawNanos;
+            this.sprites = sprites;
+            this.flushes = flushes;
+            this.peakHeapBytes = peakHeapBytes;
+        }
+
+        double ticksPerSecond() {
+            return ticks / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d | %.0f | %.3f | %.3f | %.0f | %.1f | %.1f", count, ticksPerSecond(),
+                simulationNanos / 1e6 / ticks, drawNanos / 1e6 / ticks, sprites / (double) ticks,
+                flushes / (double) ticks, peakHeapBytes / (1024.0 * 1024.0));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.gdx.game;
+
+/**
+ * Overlap test of one box against a run of boxes stored as packed edge arrays, the inner loop
+ * of {@link CollisionGrid}. Boxes overlap when they share some area; touching edges do not count.
+ * Every implementation reports exactly the same hits in the same order, so switching kernels
+ * never changes how a race (or a replay of it) plays out.
+ */
+public interface AabbKernel {
+
+    /**
+     * Tests the box {@code [minX, maxX] x [minY, maxY]} against the boxes {@code from..to-1} of
+     * the edge arrays and writes the indices of the overlapping ones to the start of {@code hits},
+     * in ascending order.
+     *
+     * @param hits receives at most {@code to - from} indices
+     * @return the number of indices written
+     */
+    int overlaps(float minX, float minY, float maxX, float maxY,
+                 float[] boxMinX, float[] boxMinY, float[] boxMaxX, float[] boxMaxY,
+                 int from, int to, int[] hits);
+
+    /** The plain Java kernel, available everywhere. */
+    static AabbKernel scalar() {
+        return ScalarAabbKernel.INSTANCE;
+    }
+
+    /**
+     * The Vector API kernel, or null if the JVM was not started with
+     * {@code --add-modules jdk.incubator.vector}.
+     */
+    static AabbKernel vector() {
+        try {
+            // Only loaded by name, so that nothing touches the incubator module unless asked to
+            return (AabbKernel) Class.forName("com.gdx.game.VectorAabbKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /** The vector kernel if it is wanted and available, the scalar one otherwise. */
+    static AabbKernel select(boolean vector) {
+        AabbKernel kernel = vector ? vector() : null;
+        return kernel != null ? kernel : scalar();
+    }
+}
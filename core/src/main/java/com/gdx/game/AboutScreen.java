@@ -10,23 +10,23 @@ import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
-import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
-import com.badlogic.gdx.Game;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.graphics.Color;
 
 public class AboutScreen extends com.badlogic.gdx.ScreenAdapter {
+    private static final String PHOTO = "owner.png"; // Replace with your photo file
+    private static final String BACKGROUND = "back.jpeg"; // Replace with your background image
+
     private Stage stage;
     private SpriteBatch batch;
-    private Texture photoTexture;  // For the owner's photo
+    private Image photo; // Empty until the owner's photo has loaded
     private BitmapFont font;
-    private Texture backgroundTexture; // Background image texture
-    private Music backgroundMusic; // Background music
-    private final Game game;
+    private final RacingGame game;
 
-    public AboutScreen(Game game) {
+    public AboutScreen(RacingGame game) {
         this.game = game;
     }
 
@@ -36,28 +36,15 @@ public class AboutScreen extends com.badlogic.gdx.ScreenAdapter {
         stage = new Stage();
         Gdx.input.setInputProcessor(stage);
 
-        // Load the photo (owner's photo)
-        try {
-            photoTexture = new Texture("owner.png"); // Replace with your photo file
-        } catch (Exception e) {
-            Gdx.app.error("AboutScreen", "Error loading photo: " + e.getMessage());
-        }
-
-        // Load the background image
-        try {
-            backgroundTexture = new Texture("back.jpeg"); // Replace with your background image
-        } catch (Exception e) {
-            Gdx.app.error("AboutScreen", "Error loading background image: " + e.getMessage());
-        }
+        // Load the photo and the background in the background; a missing file is logged by the cache
+        game.getAssets().request(PHOTO, Texture.class);
+        game.getAssets().request(BACKGROUND, Texture.class);
 
-        // Load the default font
-        font = new BitmapFont();
-        font.getData().setScale(2.0f);
+        // The shared font, baked at the size we draw it
+        font = game.getFonts().get(Fonts.SMALL);
 
-        // Load and play background music
-        backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("music.mp3")); // Replace with your music file
-        backgroundMusic.setLooping(true);
-        backgroundMusic.play();
+        // The menu music carries on from the main menu
+        game.getAudio().play(RacingGame.MENU_MUSIC);
 
         // Create a table for the layout
         Table table = new Table();
@@ -67,6 +54,7 @@ public class AboutScreen extends com.badlogic.gdx.ScreenAdapter {
         // Create a label style without using uiskin.json
         Label.LabelStyle labelStyle = new Label.LabelStyle();
         labelStyle.font = font;
+        labelStyle.fontColor = Color.WHITE; // The font is shared, so do not rely on its color
 
         // Create a label with your details
         String aboutText = "Hello, I'm Mehedi Hasan. This is my personal game project. "
@@ -80,7 +68,6 @@ public class AboutScreen extends com.badlogic.gdx.ScreenAdapter {
         backButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                backgroundMusic.stop(); // Stop music when returning to main menu
                 game.setScreen(new MainMenuScreen(game)); // Switch to MainMenuScreen
             }
         });
@@ -89,7 +76,8 @@ public class AboutScreen extends com.badlogic.gdx.ScreenAdapter {
         table.defaults().align(Align.center); // Align all table contents to center
 
         // Add photo, text, and back button to the table
-        table.add(new Image(photoTexture)).width(300).height(300).center().padBottom(10).row(); // Reduced padBottom for the image
+        photo = new Image();
+        table.add(photo).width(300).height(300).center().padBottom(10).row(); // Reduced padBottom for the image
         table.add(aboutLabel).expand().fill().center().padBottom(200).row(); // Reduced padBottom to move the text up
         table.add(backButton).padTop(20).expandX().fillX().center();
 
@@ -111,10 +99,21 @@ public class AboutScreen extends com.badlogic.gdx.ScreenAdapter {
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        // Draw the background image
-        batch.begin();
-        batch.draw(backgroundTexture, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight()); // Full-screen background
-        batch.end();
+        // Draw the background image, once it has loaded
+        Texture backgroundTexture = game.getAssets().get(BACKGROUND, Texture.class);
+        if (backgroundTexture != null) {
+            batch.begin();
+            batch.draw(backgroundTexture, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight()); // Full-screen background
+            batch.end();
+        }
+
+        // Put the photo in its frame as soon as it arrives
+        if (photo.getDrawable() == null) {
+            Texture photoTexture = game.getAssets().get(PHOTO, Texture.class);
+            if (photoTexture != null) {
+                photo.setDrawable(new TextureRegionDrawable(photoTexture));
+            }
+        }
 
         // Draw the rest of the stage (i.e., text and photo)
         batch.begin();
@@ -126,17 +125,8 @@ public class AboutScreen extends com.badlogic.gdx.ScreenAdapter {
     @Override
     public void hide() {
         batch.dispose();
-        if (photoTexture != null) {
-            photoTexture.dispose();  // Dispose of the photo texture
-        }
-        if (backgroundTexture != null) {
-            backgroundTexture.dispose(); // Dispose of the background texture
-        }
-        if (backgroundMusic != null) {
-            backgroundMusic.stop(); // Stop the music when the screen is hidden
-            backgroundMusic.dispose(); // Dispose of the music resource
-        }
-        font.dispose();
+        game.getAssets().release(PHOTO);  // Release the photo texture
+        game.getAssets().release(BACKGROUND); // Release the background texture
         stage.dispose();
     }
 }
@@ -0,0 +1,374 @@
+package com.gdx.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Application-wide cache of textures and atlases, shared by all screens. Screens
+ * {@link #acquire} what they need in {@code show()} and {@link #release} it in {@code hide()}.
+ * An asset stays loaded while any screen holds it; once released by everyone it is kept around
+ * as idle, so the next screen that wants it does not decode it again. Idle assets are disposed
+ * least recently used first when they take more than the idle budget.
+ *
+ * <p>{@link #request} loads without blocking: the image files are decoded into pixmaps on virtual
+ * threads, and {@link #update()}, called once a frame on the GL thread, turns the decoded ones
+ * into textures for up to {@link #UPLOAD_BUDGET_NANOS} per frame. Until then {@link #get} returns
+ * null and the screen draws a placeholder. {@link #acquire} on an asset that is still decoding
+ * waits for that decode instead of starting another.
+ */
+public class AssetService implements Disposable {
+
+    private static final String TAG = "AssetService";
+    // GL upload time per frame; at least one asset is uploaded every frame however long it takes
+    private static final long UPLOAD_BUDGET_NANOS = 2_000_000L;
+
+    private final long idleBudgetBytes;
+    private final Map<String, Entry> entries = new HashMap<>();
+    // Assets no screen holds, oldest release first
+    private final LinkedHashMap<String, Entry> idle = new LinkedHashMap<>();
+    // Requested assets that are not uploaded yet, in request order
+    private final List<Entry> pending = new ArrayList<>();
+    private final ExecutorService decoder = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("asset-decode-", 0).factory());
+    private long residentBytes;
+    private long idleBytes;
+
+    public AssetService(long idleBudgetBytes) {
+        this.idleBudgetBytes = idleBudgetBytes;
+    }
+
+    public Texture acquireTexture(String name) {
+        return acquire(name, Texture.class);
+    }
+
+    public TextureAtlas acquireAtlas(String name) {
+        return acquire(name, TextureAtlas.class);
+    }
+
+    /**
+     * Returns the named asset, loading it if it is not resident. Every call must be matched by
+     * a {@link #release(String)}.
+     */
+    public <T extends Disposable> T acquire(String name, Class<T> type) {
+        Entry entry = entries.get(name);
+        if (entry != null) {
+            checkType(entry, type);
+        }
+        if (entry == null || entry.hasFailed()) {
+            Decoded decoded = decode(name, type); // Throws if the file cannot be read
+            if (entry == null) {
+                entry = new Entry(name, type);
+                entries.put(name, entry);
+            }
+            hold(entry);
+            upload(entry, decoded);
+        } else {
+            hold(entry);
+            if (entry.decoding != null) {
+                pending.remove(entry);
+                upload(entry, await(entry));
+            }
+        }
+        if (entry.asset == null) {
+            release(name);
+            throw new GdxRuntimeException("Could not load " + name);
+        }
+        return type.cast(entry.asset);
+    }
+
+    /**
+     * Like {@link #acquire}, but returns at once; the asset is decoded in the background and
+     * {@link #get} returns it once {@link #update()} has uploaded it. Every call must be matched
+     * by a {@link #release(String)}, whether or not the asset ever arrived.
+     */
+    public void request(String name, Class<? extends Disposable> type) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            entry = startDecoding(name, type);
+        } else {
+            checkType(entry, type);
+            if (entry.hasFailed()) {
+                decodeInBackground(entry); // Someone still holds an earlier failed load; try again
+            }
+        }
+        hold(entry);
+    }
+
+    /**
+     * Starts decoding an asset a later screen will want, without holding it. It is kept as idle
+     * once uploaded, so it can be evicted again if nobody asks for it.
+     */
+    public void preload(String name, Class<? extends Disposable> type) {
+        if (entries.containsKey(name)) return;
+        Entry entry = startDecoding(name, type);
+        idle.put(name, entry);
+    }
+
+    /** The named asset if it is uploaded, else null; only for assets the caller holds. */
+    public <T extends Disposable> T get(String name, Class<T> type) {
+        Entry entry = entries.get(name);
+        return entry == null || !type.isInstance(entry.asset) ? null : type.cast(entry.asset);
+    }
+
+    /** Uploads decoded assets to the GPU within the per-frame budget. Call once a frame on the GL thread. */
+    public void update() {
+        long start = System.nanoTime();
+        int i = 0;
+        while (i < pending.size()) {
+            Entry entry = pending.get(i);
+            if (!entry.decoding.isDone()) {
+                i++;
+                continue;
+            }
+            pending.remove(i);
+            upload(entry, await(entry));
+            if (System.nanoTime() - start >= UPLOAD_BUDGET_NANOS) break;
+            // The upload can evict pending entries before this one, so the index no longer holds
+            i = 0;
+        }
+    }
+
+    /** Whether requested assets are still on their way. */
+    public boolean isLoading() {
+        return !pending.isEmpty();
+    }
+
+    private Entry startDecoding(String name, Class<? extends Disposable> type) {
+        Entry entry = new Entry(name, type);
+        entries.put(name, entry);
+        decodeInBackground(entry);
+        return entry;
+    }
+
+    private void decodeInBackground(Entry entry) {
+        entry.decoding = CompletableFuture.supplyAsync(() -> decode(entry.name, entry.type), decoder);
+        pending.add(entry);
+    }
+
+    private void hold(Entry entry) {
+        if (entry.references++ == 0 && idle.remove(entry.name) != null) {
+            idleBytes -= entry.sizeBytes;
+        }
+    }
+
+    private static void checkType(Entry entry, Class<?> type) {
+        if (entry.type != type) {
+            throw new IllegalArgumentException(entry.name + " is loaded as " + entry.type.getSimpleName()
+                + ", not " + type.getSimpleName());
+        }
+    }
+
+    /** Gives up one hold on the named asset. It becomes idle once nobody holds it. */
+    public void release(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null || entry.references == 0) {
+            Gdx.app.error(TAG, "Released an asset that is not held: " + name);
+            return;
+        }
+        if (--entry.references == 0) {
+            if (entry.hasFailed()) {
+                entries.remove(name); // Nothing to keep; the next request loads it again
+                return;
+            }
+            idle.put(name, entry);
+            idleBytes += entry.sizeBytes;
+            evictIdle();
+        }
+    }
+
+    public boolean isResident(String name) {
+        Entry entry = entries.get(name);
+        return entry != null && entry.asset != null;
+    }
+
+    /** Estimated GPU memory of every loaded asset, held or idle. */
+    public long getResidentBytes() {
+        return residentBytes;
+    }
+
+    public long getIdleBytes() {
+        return idleBytes;
+    }
+
+    private void evictIdle() {
+        Iterator<Entry> oldest = idle.values().iterator();
+        while (idleBytes > idleBudgetBytes && oldest.hasNext()) {
+            Entry entry = oldest.next();
+            oldest.remove();
+            entries.remove(entry.name);
+            idleBytes -= entry.sizeBytes;
+            residentBytes -= entry.sizeBytes;
+            entry.discard();
+            pending.remove(entry);
+        }
+    }
+
+    /** Reads and decodes the files of an asset; runs on a decoder thread, or on the GL thread for {@link #acquire}. */
+    private static Decoded decode(String name, Class<?> type) {
+        FileHandle file = Gdx.files.internal(name);
+        if (type == Texture.class) {
+            return new Decoded(null, new Pixmap[] {new Pixmap(file)});
+        }
+        if (type == TextureAtlas.class) {
+            TextureAtlasData data = new TextureAtlasData(file, file.parent(), false);
+            Pixmap[] pages = new Pixmap[data.getPages().size];
+            try {
+                for (int i = 0; i < pages.length; i++) {
+                    pages[i] = new Pixmap(data.getPages().get(i).textureFile);
+                }
+            } catch (RuntimeException e) {
+                new Decoded(data, pages).dispose();
+                throw e;
+            }
+            return new Decoded(data, pages);
+        }
+        throw new IllegalArgumentException("Unsupported asset type " + type.getSimpleName() + ": " + name);
+    }
+
+    private static Decoded await(Entry entry) {
+        try {
+            return entry.decoding.get();
+        } catch (ExecutionException e) {
+            Gdx.app.error(TAG, "Could not load " + entry.name, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            entry.decoding = null;
+        }
+        return null;
+    }
+
+    /**
+     * Turns decoded pixmaps into the asset on the GL thread. A failed decode leaves the asset null
+     * until the last holder releases it; an entry nobody holds is dropped at once.
+     */
+    private void upload(Entry entry, Decoded decoded) {
+        if (decoded == null) {
+            if (entry.references == 0) {
+                entries.remove(entry.name);
+                idle.remove(entry.name);
+            }
+            return;
+        }
+        Texture[] textures = new Texture[decoded.pixmaps.length];
+        for (int i = 0; i < textures.length; i++) {
+            textures[i] = new Texture(decoded.pixmaps[i]);
+        }
+        decoded.dispose();
+
+        if (decoded.atlasData == null) {
+            entry.asset = textures[0];
+        } else {
+            // The atlas applies each page's filter and wrap to the texture it is given
+            for (int i = 0; i < textures.length; i++) {
+                decoded.atlasData.getPages().get(i).texture = textures[i];
+            }
+            entry.asset = new TextureAtlas(decoded.atlasData);
+        }
+        entry.sizeBytes = estimateBytes(entry.asset);
+        residentBytes += entry.sizeBytes;
+        if (entry.references == 0) {
+            idleBytes += entry.sizeBytes;
+            evictIdle();
+        }
+    }
+
+    private static long estimateBytes(Disposable asset) {
+        if (asset instanceof Texture) {
+            Texture texture = (Texture) asset;
+            return (long) texture.getWidth() * texture.getHeight() * 4;
+        }
+        if (asset instanceof TextureAtlas) {
+            long bytes = 0;
+            for (Texture texture : ((TextureAtlas) asset).getTextures()) {
+                bytes += (long) texture.getWidth() * texture.getHeight() * 4;
+            }
+            return bytes;
+        }
+        return 0;
+    }
+
+    @Override
+    public void dispose() {
+        decoder.shutdownNow();
+        for (Entry entry : entries.values()) {
+            entry.discard();
+        }
+        entries.clear();
+        idle.clear();
+        pending.clear();
+        residentBytes = 0;
+        idleBytes = 0;
+    }
+
+    private static class Entry {
+        final String name;
+        final Class<?> type;
+        CompletableFuture<Decoded> decoding; // Set until the decode is collected
+        Disposable asset; // Null until uploaded, or if loading failed
+        long sizeBytes;
+        int references;
+
+        Entry(String name, Class<?> type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        boolean hasFailed() {
+            return asset == null && decoding == null;
+        }
+
+        /** Disposes the asset, or whatever has been decoded for it so far. */
+        void discard() {
+            if (asset != null) {
+                asset.dispose();
+                asset = null;
+            } else if (decoding != null) {
+                // Now, or whenever the decoder finishes; a failed decode has nothing to dispose
+                decoding.whenComplete((decoded, error) -> {
+                    if (decoded != null) {
+                        decoded.dispose();
+                    }
+                });
+            }
+            decoding = null;
+        }
+    }
+
+    /** Pixmaps decoded off the GL thread, waiting to become textures. */
+    private static class Decoded implements Disposable {
+        final TextureAtlasData atlasData; // Null for a plain texture
+        final Pixmap[] pixmaps;
+
+        Decoded(TextureAtlasData atlasData, Pixmap[] pixmaps) {
+            this.atlasData = atlasData;
+            this.pixmaps = pixmaps;
+        }
+
+        @Override
+        public void dispose() {
+            for (Pixmap pixmap : pixmaps) {
+                if (pixmap != null) {
+                    pixmap.dispose();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.gdx.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Application-wide background music. Each track is opened once as a streaming {@link Music}
+ * and kept for the lifetime of the game, so switching screens never reopens or restarts it.
+ * A track that is faded out is paused rather than stopped and resumes where it left off.
+ * {@link #update(float)} must be called every frame to run fades.
+ */
+public class AudioService implements Disposable {
+
+    private final Map<String, Music> tracks = new HashMap<>();
+    private float volume;
+
+    private Music current;
+    private Music fadingOut;
+    private float fadeDuration;
+    private float fadeTime;
+
+    private float duck = 1;
+    private float duckTarget = 1;
+    private float duckSpeed;
+
+    public AudioService(float volume) {
+        this.volume = volume;
+    }
+
+    /** Plays a track right away, or keeps it going if it is already the current one. */
+    public void play(String track) {
+        crossfade(track, 0);
+    }
+
+    /** Fades from whatever is playing to {@code track} over {@code seconds}. */
+    public void crossfade(String track, float seconds) {
+        Music next = music(track);
+        if (next == current) {
+            if (!next.isPlaying()) next.play();
+            return;
+        }
+        if (fadingOut != null && fadingOut != next) {
+            fadingOut.pause();
+        }
+        fadingOut = current;
+        current = next;
+        startFade(seconds);
+        current.play(); // Resumes from where it was paused, if it was playing before
+        applyVolumes(0);
+    }
+
+    /** Fades the current track out and pauses it, keeping its position. */
+    public void fadeOut(float seconds) {
+        if (current == null) return;
+        if (fadingOut != null) {
+            fadingOut.pause();
+        }
+        fadingOut = current;
+        current = null;
+        startFade(seconds);
+        applyVolumes(0);
+    }
+
+    /** Lowers the music to {@code factor} of its volume over {@code seconds}; 1 restores it. */
+    public void duck(float factor, float seconds) {
+        duckTarget = factor;
+        if (seconds <= 0) {
+            duck = factor;
+            duckSpeed = 0;
+        } else {
+            duckSpeed = Math.abs(factor - duck) / seconds;
+        }
+        applyVolumes(0);
+    }
+
+    public void setVolume(float volume) {
+        this.volume = volume;
+        applyVolumes(0);
+    }
+
+    /** Advances fades and ducking. */
+    public void update(float delta) {
+        if (duck != duckTarget) {
+            float step = duckSpeed * delta;
+            duck = duck < duckTarget ? Math.min(duck + step, duckTarget) : Math.max(duck - step, duckTarget);
+        }
+        applyVolumes(delta);
+    }
+
+    private void startFade(float seconds) {
+        fadeDuration = Math.max(seconds, 0);
+        fadeTime = 0;
+    }
+
+    private void applyVolumes(float delta) {
+        fadeTime += delta;
+        float progress = fadeDuration <= 0 ? 1 : Math.min(fadeTime / fadeDuration, 1);
+        float level = volume * duck;
+
+        if (current != null) {
+            current.setVolume(level * progress);
+        }
+        if (fadingOut != null) {
+            if (progress >= 1) {
+                fadingOut.pause();
+                fadingOut = null;
+            } else {
+                fadingOut.setVolume(level * (1 - progress));
+            }
+        }
+    }
+
+    private Music music(String track) {
+        Music music = tracks.get(track);
+        if (music == null) {
+            music = Gdx.audio.newMusic(Gdx.files.internal(track));
+            music.setLooping(true);
+            tracks.put(track, music);
+        }
+        return music;
+    }
+
+    @Override
+    public void dispose() {
+        for (Music music : tracks.values()) {
+            music.stop();
+            music.dispose();
+        }
+        tracks.clear();
+        current = null;
+        fadingOut = null;
+    }
+}
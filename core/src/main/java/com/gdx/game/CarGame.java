@@ -2,97 +2,161 @@ package com.gdx.game;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 
-import java.util.LinkedList;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Random;
 
 public class CarGame extends com.badlogic.gdx.ScreenAdapter {
 
-    private final Texture carTexture;
-    private final Texture leftCrowdTexture;
-    private final Texture rightCrowdTexture;
-    private final Texture yellowEnemyTexture;
-    private final Texture blueEnemyTexture;
+    /** Cars and enemies, packed by the packTextures task. */
+    public static final String SPRITE_ATLAS = "atlas/sprites.atlas";
+    private static final String PAUSE_BACKGROUND = "background.jpeg";
+    private static final String LEFT_CROWD = "leftcrowd.png";
+    private static final String RIGHT_CROWD = "rightcrowd .png";
+    private static final float MUSIC_FADE_SECONDS = 0.5f;
+    // Render queue layers, drawn in this order
+    private static final int LAYER_CROWD = 0;
+    private static final int LAYER_ENTITIES = 1;
+    private static final int LAYER_COUNT = 2;
+
+    private final RacingGame game;
+    private final int carIndex;
+
+    // Cars, enemies and missiles come from one atlas, so the batch rarely has to flush
+    private TextureRegion carRegion;
+    private TextureRegion[] entityRegions;
+    // Tiled down the grass with repeat wrapping, so they cannot live in the atlas
+    private Texture leftCrowd;
+    private Texture rightCrowd;
     private Texture pauseBackground;
 
-    private BitmapFont font;
+    // Laid out once; the score labels only when the score changes
+    private HudLabel scoreLabel;
+    private HudLabel pausedLabel;
+    private HudLabel gameOverLabel;
+    private HudLabel restartLabel;
+    private HudLabel finalScoreLabel;
+    private HudLabel bestScoreLabel;
+    private ProfilerOverlay profilerOverlay;
     private SpriteBatch spriteBatch;
-
-    private ShapeRenderer shapeRenderer;
-
-    private LinkedList<Float> laneLines;
-    private LinkedList<Float> borders;
-    private LinkedList<float[]> missiles;
-    private LinkedList<Float> leftCrowdPositions;
-    private LinkedList<Float> rightCrowdPositions;
-    private LinkedList<Enemy> enemies;
-
-    private float carX;
-    private float carY;
-    private float scrollSpeed;
-    private final Random random;
-    private boolean isPaused = false;
-
-    private static final int CAR_WIDTH = 100;
-    private static final int CAR_HEIGHT = 160;
-    private static final int BORDER_WIDTH = 20;
-    private static final int GRASS_WIDTH = 200;
-    private static final int LANE_LINE_HEIGHT = 50;
-    private static final int LANE_LINE_WIDTH = 5;
-    private static final int MISSILE_WIDTH = 10;
-    private static final int MISSILE_HEIGHT = 40;
-    private static final int MISSILE_SPEED = 15;
-    private static final int ENEMY_WIDTH = 100;
-    private static final int ENEMY_HEIGHT = 160;
-
-    private boolean gameOver;
-
-    private int score = 0;
-    private int highScore = 0;
-
-    public CarGame(Texture carTexture, Texture leftCrowdTexture, Texture rightCrowdTexture, Texture yellowEnemyTexture, Texture blueEnemyTexture) {
-        //this.game = game;
-        this.carTexture = carTexture;
-        this.leftCrowdTexture = leftCrowdTexture;
-        this.rightCrowdTexture = rightCrowdTexture;
-        this.yellowEnemyTexture = yellowEnemyTexture;
-        this.blueEnemyTexture = blueEnemyTexture;
-        this.random = new Random();
+    // Sprites are queued during the frame and drawn sorted by layer and texture
+    private RenderQueue renderQueue;
+    private SpriteBatchBackend renderBackend;
+    private int[] entityTextures; // Render queue texture ids, by RaceSimulation.TEXTURE_* id
+    private int leftCrowdTexture;
+    private int rightCrowdTexture;
+
+    private RoadRenderer roadRenderer;
+
+    private RaceSimulation simulation;
+    // Only with GameOptions.SIMULATION_THREAD; while it runs, the render thread only reads snapshots
+    private SimulationThread simulationThread;
+    // What is drawn: the simulation itself, or the latest snapshot of it
+    private RaceState state;
+    private final InputState input;
+    private FixedTimestep timestep;
+    private final Random seeds;
+    private InputRecorder recorder;
+    private ReplayPlayer replay;
+
+    /**
+     * @param carIndex which of the six cars was picked, starting at 0
+     */
+    public CarGame(RacingGame game, int carIndex) {
+        this.game = game;
+        this.carIndex = carIndex;
+        this.input = new InputState();
+        this.seeds = new Random();
     }
 
+    /** Starts decoding the race textures in the background, so that entering the race does not wait for them. */
+    static void preload(AssetService assets) {
+        assets.preload(SPRITE_ATLAS, TextureAtlas.class);
+        assets.preload(PAUSE_BACKGROUND, Texture.class);
+        assets.preload(LEFT_CROWD, Texture.class);
+        assets.preload(RIGHT_CROWD, Texture.class);
+    }
 
     @Override
     public void show() {
-        loadHighScore();
-        shapeRenderer = new ShapeRenderer();
+        game.getAudio().fadeOut(MUSIC_FADE_SECONDS); // The race is silent; the menu music resumes where it stopped
+        roadRenderer = new RoadRenderer();
         spriteBatch = new SpriteBatch();
-        font = new BitmapFont();
-        pauseBackground = new Texture("background.jpeg");
-
-        carX = Gdx.graphics.getWidth() / 2f - CAR_WIDTH / 2f;
-        carY = 100;
-
-        scrollSpeed = 5;
-        gameOver = false;
-
-        laneLines = new LinkedList<>();
-        borders = new LinkedList<>();
-        missiles = new LinkedList<>();
-        leftCrowdPositions = new LinkedList<>();
-        rightCrowdPositions = new LinkedList<>();
-        enemies = new LinkedList<>();
-
-        for (int i = 0; i < Gdx.graphics.getHeight() / LANE_LINE_HEIGHT + 1; i++) {
-            laneLines.add((float) (i * LANE_LINE_HEIGHT));
-            borders.add((float) (i * LANE_LINE_HEIGHT));
-            leftCrowdPositions.add((float) (i * LANE_LINE_HEIGHT));
-            rightCrowdPositions.add((float) (i * LANE_LINE_HEIGHT));
+        Fonts fonts = game.getFonts();
+        scoreLabel = new HudLabel(fonts.get(Fonts.SMALL), Color.WHITE, "Score: ");
+        pausedLabel = new HudLabel(fonts.get(Fonts.MEDIUM), Color.WHITE, "Game Paused. Press P to Resume");
+        gameOverLabel = new HudLabel(fonts.get(Fonts.HUGE), Color.RED, "Game Over!");
+        restartLabel = new HudLabel(fonts.get(Fonts.MEDIUM), Color.RED, "Press R to Restart or Q to Quit");
+        finalScoreLabel = new HudLabel(fonts.get(Fonts.SMALL), Color.RED, "Your Score: ");
+        bestScoreLabel = new HudLabel(fonts.get(Fonts.SMALL), Color.RED, "Best: ");
+        profilerOverlay = new ProfilerOverlay(game.getProfiler(), game.getAllocationMetrics(), fonts.get(Fonts.SMALL));
+        pauseBackground = game.getAssets().acquireTexture(PAUSE_BACKGROUND);
+
+        leftCrowd = acquireCrowd(LEFT_CROWD);
+        rightCrowd = acquireCrowd(RIGHT_CROWD);
+
+        TextureAtlas spriteAtlas = game.getAssets().acquireAtlas(SPRITE_ATLAS);
+        carRegion = spriteAtlas.findRegion("car" + (carIndex + 1));
+
+        // Indexed by the RaceSimulation.TEXTURE_* ids; missiles use the car sprite
+        entityRegions = new TextureRegion[]{
+            carRegion, spriteAtlas.findRegion("yellow_enemy"), spriteAtlas.findRegion("blue_enemy")};
+
+        renderBackend = new SpriteBatchBackend(spriteBatch);
+        leftCrowdTexture = renderBackend.register(leftCrowd);
+        rightCrowdTexture = renderBackend.register(rightCrowd);
+        entityTextures = new int[entityRegions.length];
+        for (int i = 0; i < entityRegions.length; i++) {
+            entityTextures[i] = renderBackend.register(entityRegions[i].getTexture());
+        }
+        renderQueue = new RenderQueue(LAYER_COUNT, renderBackend.getTextureCount(), 256);
+
+        if (GameOptions.PLAYBACK_FILE != null) {
+            try {
+                replay = new ReplayPlayer(Paths.get(GameOptions.PLAYBACK_FILE));
+            } catch (IOException e) {
+                Gdx.app.error("CarGame", "Error loading replay: " + e.getMessage());
+            }
+        }
+
+        if (GameOptions.VECTOR_COLLISIONS && AabbKernel.vector() == null) {
+            Gdx.app.error("CarGame", "Vector collisions need --add-modules jdk.incubator.vector, using scalar ones");
+        }
+
+        SpawnTable spawnTable = loadSpawnTable();
+        if (replay != null) {
+            // The replay decides the world size and tick rate so that it plays out the same way
+            timestep = new FixedTimestep(replay.getTicksPerSecond());
+            simulation = replay.createSimulation(spawnTable);
+            String mismatch = replay.checkRules(spawnTable, simulation.getDifficulty());
+            if (mismatch != null) {
+                Gdx.app.error("CarGame", "Replay: " + mismatch + "; it will not play out as recorded");
+            }
+        } else {
+            timestep = new FixedTimestep(GameOptions.TICK_RATE);
+            simulation = new RaceSimulation(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), timestep.getTicksPerSecond(),
+                DifficultyParams.DEFAULT, spawnTable);
+        }
+        simulation.setProfiler(game.getProfiler());
+        resetGame();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        if (simulation == null || replay != null) return;
+        if (simulationThread != null) {
+            simulationThread.setWorldSize(width, height);
+        } else {
+            simulation.setWorldSize(width, height);
         }
     }
 
@@ -102,282 +166,169 @@ public class CarGame extends com.badlogic.gdx.ScreenAdapter {
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
         // Game over screen
-        if (gameOver) {
+        if (state.isGameOver()) {
             drawGameOverScreen();
             return;
         }
 
+        // Phase timings; all of these are no-ops unless the profiler is switched on with F3
+        FrameProfiler profiler = game.getProfiler();
+        profilerOverlay.handleInput();
+        profilerOverlay.beginFrame();
+        long frameStart = profiler.start();
+
+        handleInput();
+        long start = profiler.lap(FrameProfiler.INPUT, frameStart);
+
+        float alpha;
+        if (simulationThread != null) {
+            // The simulation runs by itself; hand it the keys and draw its latest snapshot
+            if (simulationThread.offerInput(input.getBits())) {
+                input.clearPresses();
+            }
+            RaceSnapshot snapshot = simulationThread.acquireSnapshot();
+            state = snapshot;
+            alpha = snapshot.alphaAt(System.nanoTime(), simulationThread.getTickNanos());
+        } else {
+            // Advance the simulation in whole ticks and draw in between the last two
+            int ticks = timestep.advance(delta);
+            for (int i = 0; i < ticks && !simulation.isGameOver(); i++) {
+                beforeTick(input);
+                simulation.tick(input);
+                input.clearPresses();
+            }
+            alpha = timestep.alpha();
+            start = profiler.lap(FrameProfiler.SIMULATION, start);
+        }
+        if (state.isGameOver()) {
+            if (replay == null) {
+                game.getLeaderboard().submit(state.getScore(), carIndex); // Saved in the background
+            }
+            stopRecording();
+        }
+
         // Pause screen
-        if (isPaused) {
+        if (state.isPaused()) {
             drawPauseScreen();
             return;
         }
 
-        handleInput();
-        updateGameObjects();
-
-        // Draw road and background elements
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        // Road
-        shapeRenderer.setColor(0.2f, 0.2f, 0.2f, 1);
-        shapeRenderer.rect(GRASS_WIDTH + BORDER_WIDTH, 0,
-            Gdx.graphics.getWidth() - 2 * (GRASS_WIDTH + BORDER_WIDTH), Gdx.graphics.getHeight());
+        float width = state.getWorldWidth();
+        float height = state.getWorldHeight();
 
-        drawLaneLines();
-        drawBorders();
-        shapeRenderer.end();
+        // Road, lane lines and kerbs: a static mesh scrolled by the shader
+        double scrollDistance = state.getScrollDistance(alpha);
+        roadRenderer.render(spriteBatch.getProjectionMatrix(), width, height, scrollDistance);
+        start = profiler.lap(FrameProfiler.ROAD, start);
 
         // Draw game objects
+        queueCrowd(scrollDistance);
+        renderBackend.queue(renderQueue, LAYER_ENTITIES, entityTextures[RaceSimulation.TEXTURE_CAR], carRegion,
+            state.getInterpolatedCarX(alpha), state.getInterpolatedCarY(alpha),
+            RaceSimulation.CAR_WIDTH, RaceSimulation.CAR_HEIGHT);
+        queueEntities(state.getMissiles(), alpha);
+        queueEntities(state.getEnemies(), alpha);
         spriteBatch.begin();
-        drawCrowd();
-        spriteBatch.draw(carTexture, carX, carY, CAR_WIDTH, CAR_HEIGHT);
-        drawMissiles();
-        drawEnemies();
+        renderQueue.submit(renderBackend);
 
         // Draw the current score
-        font.getData().setScale(2);
-        font.setColor(1, 1, 1, 1); // White color
-        font.draw(spriteBatch, "Score: " + score, 20, Gdx.graphics.getHeight() - 20);
+        scoreLabel.setValue(state.getScore());
+        scoreLabel.draw(spriteBatch, 20, height - 20);
+        profilerOverlay.draw(spriteBatch, 20, height - 70, delta);
 
         spriteBatch.end();
+        profiler.lap(FrameProfiler.SPRITES, start);
+        profiler.lap(FrameProfiler.FRAME, frameStart);
     }
 
-
-    private void handleInput() {
-        if (gameOver) return;
-
-        if (Gdx.input.isKeyJustPressed(Input.Keys.P)) {
-            isPaused = !isPaused;
-        }
-
-        if (isPaused) return;
-
-        float leftBoundary = GRASS_WIDTH + BORDER_WIDTH;
-        float rightBoundary = Gdx.graphics.getWidth() - GRASS_WIDTH - BORDER_WIDTH - CAR_WIDTH;
-        float bottomBoundary = 0;
-        float topBoundary = Gdx.graphics.getHeight() - CAR_HEIGHT;
-
-        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) carX = Math.max(carX - 10, leftBoundary);
-        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) carX = Math.min(carX + 10, rightBoundary);
-        if (Gdx.input.isKeyPressed(Input.Keys.UP)) carY = Math.min(carY + 10, topBoundary);
-        if (Gdx.input.isKeyPressed(Input.Keys.DOWN)) carY = Math.max(carY - 10, bottomBoundary);
-
-        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
-            missiles.add(new float[]{carX + CAR_WIDTH / 2f - MISSILE_WIDTH / 2f, carY + CAR_HEIGHT});
+    /** Feeds a replay or records the player, just before each tick; on the simulation thread if there is one. */
+    private void beforeTick(InputState input) {
+        if (replay != null) {
+            input.setBits(replay.nextBits(simulation));
+        } else if (recorder != null) {
+            // Resizes are applied between ticks, so this catches each one before the tick it affects
+            recorder.recordWorldSize(simulation.getWorldWidth(), simulation.getWorldHeight());
+            recorder.record(input.getBits());
         }
     }
 
-    private void updateGameObjects() {
-        updateLaneLines();
-        updateBorders();
-        updateMissiles();
-        updateCrowd();
-        spawnEnemies();
-        updateEnemies();
-        checkCollisions();
-
-        if (System.currentTimeMillis() % 10000 < 50) { // Every 10 seconds
-            scrollSpeed += 0.5F;
+    private static SpawnTable loadSpawnTable() {
+        try {
+            return SpawnTable.parse(Gdx.files.internal(SpawnTable.ASSET).readString("UTF-8"));
+        } catch (GdxRuntimeException | IllegalArgumentException e) {
+            Gdx.app.error("CarGame", "Error loading the waves, using the default ones: " + e.getMessage());
+            return SpawnTable.DEFAULT;
         }
     }
 
-    private void drawLaneLines() {
-        shapeRenderer.setColor(1, 1, 1, 1);
-        for (Float laneLineY : laneLines) {
-            shapeRenderer.rect(Gdx.graphics.getWidth() / 2f - LANE_LINE_WIDTH / 2f,
-                laneLineY, LANE_LINE_WIDTH, LANE_LINE_HEIGHT);
-        }
+    private Texture acquireCrowd(String name) {
+        Texture crowd = game.getAssets().acquireTexture(name);
+        crowd.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        crowd.setWrap(Texture.TextureWrap.ClampToEdge, Texture.TextureWrap.Repeat);
+        return crowd;
     }
 
-    private void drawBorders() {
-        for (int i = 0; i < borders.size(); i++) {
-            float borderY = borders.get(i);
-            shapeRenderer.setColor(1, i % 2 == 0 ? 0 : 1, i % 2 == 0 ? 0 : 1, 1);
-            shapeRenderer.rect(GRASS_WIDTH, borderY, BORDER_WIDTH, LANE_LINE_HEIGHT);
-            shapeRenderer.rect(Gdx.graphics.getWidth() - GRASS_WIDTH - BORDER_WIDTH, borderY, BORDER_WIDTH, LANE_LINE_HEIGHT);
-        }
+    private void handleInput() {
+        input.set(InputState.LEFT, Gdx.input.isKeyPressed(Input.Keys.LEFT));
+        input.set(InputState.RIGHT, Gdx.input.isKeyPressed(Input.Keys.RIGHT));
+        input.set(InputState.UP, Gdx.input.isKeyPressed(Input.Keys.UP));
+        input.set(InputState.DOWN, Gdx.input.isKeyPressed(Input.Keys.DOWN));
+
+        // Key presses are kept until the next tick runs, even if this frame runs none
+        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) input.press(InputState.FIRE);
+        if (Gdx.input.isKeyJustPressed(Input.Keys.P)) input.press(InputState.PAUSE);
     }
 
-    private void drawMissiles() {
-        for (float[] missile : missiles) {
-            spriteBatch.draw(carTexture, missile[0], missile[1], MISSILE_WIDTH, MISSILE_HEIGHT);
+    private void queueEntities(EntityStore entities, float alpha) {
+        for (int i = 0; i < entities.size(); i++) {
+            int texture = entities.getTextureId(i);
+            renderBackend.queue(renderQueue, LAYER_ENTITIES, entityTextures[texture], entityRegions[texture],
+                entities.getInterpolatedX(i, alpha), entities.getInterpolatedY(i, alpha),
+                entities.getWidth(i), entities.getHeight(i));
         }
     }
 
-    private void drawCrowd() {
-        float crowdHeight = Gdx.graphics.getHeight();
-
-        for (Float position : leftCrowdPositions) {
-            spriteBatch.draw(leftCrowdTexture, 0, position, GRASS_WIDTH, crowdHeight);
-        }
+    /**
+     * Queues each crowd as one quad down its side of the grass, tiling the texture at its own
+     * aspect ratio and scrolling it with the road by moving the V coordinates.
+     */
+    private void queueCrowd(double scrollDistance) {
+        float height = state.getWorldHeight();
+        float rightX = state.getWorldWidth() - RaceSimulation.GRASS_WIDTH;
+        queueCrowdStrip(leftCrowd, leftCrowdTexture, 0, height, scrollDistance);
+        queueCrowdStrip(rightCrowd, rightCrowdTexture, rightX, height, scrollDistance);
+    }
 
-        for (Float position : rightCrowdPositions) {
-            spriteBatch.draw(rightCrowdTexture, Gdx.graphics.getWidth() - GRASS_WIDTH, position, GRASS_WIDTH, crowdHeight);
-        }
+    private void queueCrowdStrip(Texture crowd, int texture, float x, float height, double scrollDistance) {
+        float tileHeight = RaceSimulation.GRASS_WIDTH * crowd.getHeight() / (float) crowd.getWidth();
+        // V runs top to bottom; the bottom of the screen shows the tile scrollDistance pixels up
+        float bottomV = 1 - (float) (scrollDistance % tileHeight / tileHeight);
+        float topV = bottomV - height / tileHeight;
+        renderQueue.sprite(LAYER_CROWD, texture, x, 0, RaceSimulation.GRASS_WIDTH, height, 0, bottomV, 1, topV);
     }
 
     private void drawPauseScreen() {
         spriteBatch.begin();
         spriteBatch.draw(pauseBackground, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
 
-        font.getData().setScale(3);
-        font.draw(spriteBatch, "Game Paused. Press P to Resume", Gdx.graphics.getWidth() / 2f - 300, Gdx.graphics.getHeight() / 2f + 150);
+        pausedLabel.draw(spriteBatch, Gdx.graphics.getWidth() / 2f - 300, Gdx.graphics.getHeight() / 2f + 150);
 
         spriteBatch.end();
-
-        if (Gdx.input.isKeyJustPressed(Input.Keys.P)) {
-            isPaused = !isPaused;
-        }
-    }
-
-    private void drawEnemies() {
-        for (Enemy enemy : enemies) {
-            spriteBatch.draw(enemy.texture, enemy.x, enemy.y, ENEMY_WIDTH, ENEMY_HEIGHT);
-        }
     }
 
-    private void updateLaneLines() {
-        LinkedList<Float> newLaneLines = new LinkedList<>();
-        for (Float laneLineY : laneLines) {
-            laneLineY -= scrollSpeed;
-            if (laneLineY + LANE_LINE_HEIGHT > 0) {
-                newLaneLines.add(laneLineY);
-            }
-        }
-
-        while (newLaneLines.isEmpty() || newLaneLines.getLast() <= Gdx.graphics.getHeight()) {
-            float newLineY = (newLaneLines.isEmpty() ? Gdx.graphics.getHeight() : newLaneLines.getLast() + LANE_LINE_HEIGHT * 2);
-            newLaneLines.add(newLineY);
-        }
-
-        laneLines = newLaneLines;
-    }
-
-    private void updateBorders() {
-        LinkedList<Float> newBorders = new LinkedList<>();
-        for (Float borderY : borders) {
-            borderY -= scrollSpeed;
-            if (borderY > 0) newBorders.add(borderY);
-        }
-        borders = newBorders;
-
-        // Add new border at the top if needed
-        if (borders.isEmpty() || borders.getLast() <= Gdx.graphics.getHeight() - LANE_LINE_HEIGHT) {
-            borders.add((float) Gdx.graphics.getHeight());
-        }
-    }
-
-    private void updateMissiles() {
-        LinkedList<float[]> updatedMissiles = new LinkedList<>();
-        for (float[] missile : missiles) {
-            missile[1] += MISSILE_SPEED;
-            if (missile[1] <= Gdx.graphics.getHeight()) updatedMissiles.add(missile);
-        }
-        missiles = updatedMissiles;
-    }
-
-    private void updateCrowd() {
-        LinkedList<Float> newLeftCrowdPositions = new LinkedList<>();
-        LinkedList<Float> newRightCrowdPositions = new LinkedList<>();
-
-        for (Float position : leftCrowdPositions) {
-            position -= scrollSpeed;
-            if (position + LANE_LINE_HEIGHT > 0) newLeftCrowdPositions.add(position);
-        }
-
-        for (Float position : rightCrowdPositions) {
-            position -= scrollSpeed;
-            if (position + LANE_LINE_HEIGHT > 0) newRightCrowdPositions.add(position);
-        }
-
-        while (newLeftCrowdPositions.isEmpty() || newLeftCrowdPositions.getLast() <= Gdx.graphics.getHeight()) {
-            float newY = (newLeftCrowdPositions.isEmpty() ? Gdx.graphics.getHeight() : newLeftCrowdPositions.getLast() + LANE_LINE_HEIGHT);
-            newLeftCrowdPositions.add(newY);
-        }
-
-        while (newRightCrowdPositions.isEmpty() || newRightCrowdPositions.getLast() <= Gdx.graphics.getHeight()) {
-            float newY = (newRightCrowdPositions.isEmpty() ? Gdx.graphics.getHeight() : newRightCrowdPositions.getLast() + LANE_LINE_HEIGHT);
-            newRightCrowdPositions.add(newY);
-        }
-
-        leftCrowdPositions = newLeftCrowdPositions;
-        rightCrowdPositions = newRightCrowdPositions;
-    }
-
-    private void spawnEnemies() {
-        if (random.nextInt(100) < 2) {
-            if (enemies.isEmpty()) {
-                Texture enemyTexture = random.nextBoolean() ? yellowEnemyTexture : blueEnemyTexture;
-                float enemyX = random.nextInt(Gdx.graphics.getWidth() - 2 * (GRASS_WIDTH + BORDER_WIDTH) - ENEMY_WIDTH) + GRASS_WIDTH + BORDER_WIDTH;
-                enemies.add(new Enemy(enemyX, Gdx.graphics.getHeight(), enemyTexture));
-            }
-        }
-    }
-
-    private void updateEnemies() {
-        LinkedList<Enemy> updatedEnemies = new LinkedList<>();
-        for (Enemy enemy : enemies) {
-            enemy.y -= scrollSpeed + 3;
-            if (enemy.y + ENEMY_HEIGHT > 0) {
-                updatedEnemies.add(enemy);
-            }
-        }
-        enemies = updatedEnemies;
-    }
-
-    private void checkCollisions() {
-        LinkedList<Enemy> updatedEnemies = new LinkedList<>();
-        LinkedList<float[]> updatedMissiles = new LinkedList<>();
-
-        for (Enemy enemy : enemies) {
-            boolean hit = false;
-
-            // Check missile collision
-            for (float[] missile : missiles) {
-                if (missile[0] < enemy.x + ENEMY_WIDTH && missile[0] + MISSILE_WIDTH > enemy.x &&
-                    missile[1] < enemy.y + ENEMY_HEIGHT && missile[1] + MISSILE_HEIGHT > enemy.y) {
-                    hit = true;
-                    score += 10; // Award score for hitting an enemy
-                    break;
-                } else {
-                    updatedMissiles.add(missile);
-                }
-            }
-
-            missiles = updatedMissiles;
-
-            // Check car collision
-            if (carX < enemy.x + ENEMY_WIDTH && carX + CAR_WIDTH > enemy.x &&
-                carY < enemy.y + ENEMY_HEIGHT && carY + CAR_HEIGHT > enemy.y) {
-                gameOver = true;
-                saveHighScore();
-                break;
-            }
-
-            // Add remaining enemies to the updated list
-            if (!hit && enemy.y + ENEMY_HEIGHT > 0) {
-                updatedEnemies.add(enemy);
-            }
-        }
-
-        enemies = updatedEnemies;
-    }
-
-
     private void drawGameOverScreen() {
         spriteBatch.begin();
         spriteBatch.draw(pauseBackground, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
-        font.getData().setScale(5);
-        font.setColor(1, 0, 0, 1); // Red color
-        font.draw(spriteBatch, "Game Over!", Gdx.graphics.getWidth() / 2f - 200, Gdx.graphics.getHeight() / 2f + 250);
-        font.getData().setScale(3);
-        font.draw(spriteBatch, "Press R to Restart or Q to Quit", Gdx.graphics.getWidth() - 800, Gdx.graphics.getHeight() / 2f + 150);
-        font.getData().setScale(2);
-        font.draw(spriteBatch, "Your Score: " + score, Gdx.graphics.getWidth() - 600, Gdx.graphics.getHeight() / 2f + 90);
+        gameOverLabel.draw(spriteBatch, Gdx.graphics.getWidth() / 2f - 200, Gdx.graphics.getHeight() / 2f + 250);
+        restartLabel.draw(spriteBatch, Gdx.graphics.getWidth() - 800, Gdx.graphics.getHeight() / 2f + 150);
+        finalScoreLabel.setValue(state.getScore());
+        finalScoreLabel.draw(spriteBatch, Gdx.graphics.getWidth() - 600, Gdx.graphics.getHeight() / 2f + 90);
+        // The leaderboard may not have taken this race's score yet
+        bestScoreLabel.setValue(Math.max(game.getLeaderboard().getBestScore(), state.getScore()));
+        bestScoreLabel.draw(spriteBatch, Gdx.graphics.getWidth() - 600, Gdx.graphics.getHeight() / 2f + 50);
         spriteBatch.end();
 
         if (Gdx.input.isKeyJustPressed(Input.Keys.R)) {
-            gameOver = false;
             resetGame();
         }
 
@@ -386,64 +337,70 @@ public class CarGame extends com.badlogic.gdx.ScreenAdapter {
         }
     }
 
-    // Save high score method
-    private void saveHighScore() {
-        try {
-            FileHandle file = Gdx.files.local("highscore.txt");
-            file.writeString(String.valueOf(highScore), false);
-        } catch (Exception e) {
-            //e.printStackTrace();
+    private void resetGame() {
+        stopSimulationThread();
+        stopRecording();
+        if (replay != null && replay.getTick() == 0) {
+            simulation.reset(replay.getSeed());
+        } else {
+            // Restarting after a replay has been watched goes back to normal play
+            replay = null;
+            long seed = seeds.nextLong();
+            simulation.reset(seed);
+            startRecording(seed);
+        }
+        input.clear();
+        timestep.reset();
+
+        state = simulation;
+        if (GameOptions.SIMULATION_THREAD) {
+            simulationThread = new SimulationThread(simulation, this::beforeTick, game.getProfiler());
+            state = simulationThread.acquireSnapshot();
+            simulationThread.start();
         }
     }
 
-    private void loadHighScore() {
+    private void stopSimulationThread() {
+        if (simulationThread == null) return;
+        simulationThread.stop();
+        simulationThread = null;
+    }
+
+    private void startRecording(long seed) {
+        if (!GameOptions.RECORD_REPLAYS) return;
+        Path file = Gdx.files.local(GameOptions.REPLAY_DIR + "/run-" + System.currentTimeMillis() + InputRecorder.EXTENSION)
+            .file().toPath();
         try {
-            FileHandle file = Gdx.files.local("highscore.txt");
-            if (file.exists()) {
-                highScore = Integer.parseInt(file.readString());
+            recorder = new InputRecorder(file, seed, simulation);
+            if (GameOptions.REPLAYS_KEPT > 0) {
+                recorder.deleteOlderReplays(GameOptions.REPLAYS_KEPT);
             }
-        } catch (Exception e) {
-            highScore = 0;
+        } catch (IOException e) {
+            Gdx.app.error("CarGame", "Error starting replay recording: " + e.getMessage());
         }
     }
 
-    private void resetGame() {
-        carX = Gdx.graphics.getWidth() / 2f - CAR_WIDTH / 2f;
-        carY = 100;
-
-        enemies.clear();
-        missiles.clear();
-        laneLines.clear();
-        borders.clear();
-        leftCrowdPositions.clear();
-        rightCrowdPositions.clear();
-
-        for (int i = 0; i < Gdx.graphics.getHeight() / LANE_LINE_HEIGHT + 1; i++) {
-            laneLines.add((float) (i * LANE_LINE_HEIGHT));
-            borders.add((float) (i * LANE_LINE_HEIGHT));
-            leftCrowdPositions.add((float) (i * LANE_LINE_HEIGHT));
-            rightCrowdPositions.add((float) (i * LANE_LINE_HEIGHT));
+    private void stopRecording() {
+        if (recorder == null) return;
+        try {
+            recorder.close(); // Finishes in the background; the game waits for it before exiting
+        } catch (IOException e) {
+            Gdx.app.error("CarGame", "Error writing replay: " + e.getMessage());
         }
-
-        scrollSpeed = 5;
-        gameOver = false;
+        game.addClosedReplay(recorder);
+        recorder = null;
     }
 
     @Override
     public void hide() {
-        shapeRenderer.dispose();
+        stopSimulationThread();
+        stopRecording();
+        roadRenderer.dispose();
+        profilerOverlay.dispose();
         spriteBatch.dispose();
-        font.dispose();
-    }
-
-    private static class Enemy {
-        float x, y;
-        Texture texture;
-
-        public Enemy(float x, float y, Texture texture) {
-            this.x = x;
-            this.y = y;
-            this.texture = texture;
-        }
+        game.getAssets().release(PAUSE_BACKGROUND);
+        game.getAssets().release(LEFT_CROWD);
+        game.getAssets().release(RIGHT_CROWD);
+        game.getAssets().release(SPRITE_ATLAS);
     }
 }
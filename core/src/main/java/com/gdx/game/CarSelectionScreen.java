@@ -1,12 +1,13 @@
 package com.gdx.game;
 
-import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
@@ -15,21 +16,18 @@ import com.badlogic.gdx.utils.viewport.ScreenViewport;
 
 public class CarSelectionScreen extends com.badlogic.gdx.ScreenAdapter {
 
-    private final Game game;
+    private static final String BACKGROUND = "stage.png";
+    private static final int CAR_COUNT = 6;
+
+    private final RacingGame game;
+    private final GlyphLayout loadingLayout = new GlyphLayout();
     private Stage stage;
     private SpriteBatch batch;
-    private Texture backgroundTexture;
-    private Texture enemy1;
-    //private Texture back;
-    private Texture enemy2;
-    private Texture leftCrowdTexture;
-    private Texture rightCrowdTexture;// Background texture
-    private Texture[] carTextures;
+    private TextureRegion[] carRegions; // Null until the sprite atlas has loaded
     private int currentCarIndex;
     private BitmapFont font;
-    private Music backgroundMusic;
 
-    public CarSelectionScreen(Game game) {
+    public CarSelectionScreen(RacingGame game) {
         this.game = game;
     }
 
@@ -38,30 +36,20 @@ public class CarSelectionScreen extends com.badlogic.gdx.ScreenAdapter {
         batch = new SpriteBatch();
         stage = new Stage(new ScreenViewport());
 
-        backgroundTexture = new Texture("stage.png");
-        leftCrowdTexture = new Texture("leftcrowd.png");// Load the background texture
-        rightCrowdTexture = new Texture("rightcrowd .png");
-        enemy1 = new Texture("blue_enemy.png");
-        enemy2 = new Texture("yellow_enemy.png");
-        //back = new Texture("background.jpg");
-
-
-        carTextures = new Texture[6];
-        for (int i = 0; i < 6; i++) {
-            carTextures[i] = new Texture("car" + (i + 1) + ".png");
-        }
+        // Decoded in the background; the screen shows a placeholder until they arrive
+        game.getAssets().request(BACKGROUND, Texture.class);
+        game.getAssets().request(CarGame.SPRITE_ATLAS, TextureAtlas.class); // Cars and enemies, packed by the packTextures task
+        CarGame.preload(game.getAssets()); // So that PLAY does not wait for the race screen's textures
+        carRegions = null;
         currentCarIndex = 0;
 
-        font = new BitmapFont();
-        font.getData().setScale(2.0f);
+        font = game.getFonts().get(Fonts.LARGE);
+        loadingLayout.setText(font, "Loading...");
 
         Gdx.input.setInputProcessor(stage);
 
         createButtons();
-        backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("music.mp3"));
-        backgroundMusic.setLooping(true); // Set the music to loop
-        backgroundMusic.setVolume(0.5f); // Adjust volume (0.0 to 1.0)
-        backgroundMusic.play();
+        game.getAudio().play(RacingGame.MENU_MUSIC);
     }
 
     @Override
@@ -69,62 +57,79 @@ public class CarSelectionScreen extends com.badlogic.gdx.ScreenAdapter {
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
+        if (carRegions == null) {
+            findCarRegions();
+        }
+
         batch.begin();
-        // Draw the background image first
-        batch.draw(backgroundTexture, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        // Draw the background image first, once it has loaded
+        Texture background = game.getAssets().get(BACKGROUND, Texture.class);
+        if (background != null) {
+            batch.draw(background, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        }
 
-        // Draw the current car texture
-        batch.draw(carTextures[currentCarIndex],
-            (float) Gdx.graphics.getWidth() / 2 - (float) carTextures[currentCarIndex].getWidth() / 2,
-            (float) Gdx.graphics.getHeight() / 2 - (float) carTextures[currentCarIndex].getHeight() / 2);
+        // Draw the current car, or a placeholder while the cars load
+        if (carRegions != null) {
+            TextureRegion car = carRegions[currentCarIndex];
+            batch.draw(car,
+                (float) Gdx.graphics.getWidth() / 2 - (float) car.getRegionWidth() / 2,
+                (float) Gdx.graphics.getHeight() / 2 - (float) car.getRegionHeight() / 2);
+        } else {
+            font.draw(batch, loadingLayout,
+                (Gdx.graphics.getWidth() - loadingLayout.width) / 2,
+                (Gdx.graphics.getHeight() + loadingLayout.height) / 2);
+        }
         batch.end();
 
         stage.act(Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f));
         stage.draw();
     }
 
+    private void findCarRegions() {
+        TextureAtlas spriteAtlas = game.getAssets().get(CarGame.SPRITE_ATLAS, TextureAtlas.class);
+        if (spriteAtlas == null) return;
+        carRegions = new TextureRegion[CAR_COUNT];
+        for (int i = 0; i < CAR_COUNT; i++) {
+            carRegions[i] = spriteAtlas.findRegion("car" + (i + 1));
+        }
+    }
+
     private void createButtons() {
         Table table = new Table();
         table.setFillParent(true);
 
         // Create Left Arrow Button
         TextButton leftArrowButton = new TextButton("<", getButtonStyle());
-        leftArrowButton.getLabel().setFontScale(2.0f); // Scale up the font size
         leftArrowButton.addListener(new ClickListener() {
             @Override
             public void clicked(com.badlogic.gdx.scenes.scene2d.InputEvent event, float x, float y) {
-                currentCarIndex = (currentCarIndex - 1 + carTextures.length) % carTextures.length;
+                currentCarIndex = (currentCarIndex - 1 + CAR_COUNT) % CAR_COUNT;
             }
         });
 
         // Create Right Arrow Button
         TextButton rightArrowButton = new TextButton(">", getButtonStyle());
-        rightArrowButton.getLabel().setFontScale(2.0f); // Scale up the font size
         rightArrowButton.addListener(new ClickListener() {
             @Override
             public void clicked(com.badlogic.gdx.scenes.scene2d.InputEvent event, float x, float y) {
-                currentCarIndex = (currentCarIndex + 1) % carTextures.length;
+                currentCarIndex = (currentCarIndex + 1) % CAR_COUNT;
             }
         });
 
         // Create Play Button
         TextButton playButton = new TextButton("PLAY", getButtonStyle());
-        playButton.getLabel().setFontScale(2.0f); // Scale up the font size
         playButton.addListener(new ClickListener() {
             @Override
             public void clicked(com.badlogic.gdx.scenes.scene2d.InputEvent event, float x, float y) {
-                backgroundMusic.stop();
-                game.setScreen(new CarGame(carTextures[currentCarIndex], leftCrowdTexture, rightCrowdTexture, enemy1, enemy2));
+                game.setScreen(new CarGame(game, currentCarIndex));
             }
         });
 
         // Create Back Button
         TextButton backButton = new TextButton("BACK", getButtonStyle());
-        backButton.getLabel().setFontScale(2.0f); // Scale up the font size
         backButton.addListener(new ClickListener() {
             @Override
             public void clicked(com.badlogic.gdx.scenes.scene2d.InputEvent event, float x, float y) {
-                backgroundMusic.stop();
                 game.setScreen(new MainMenuScreen(game)); // Adjust MainMenuScreen as needed
             }
         });
@@ -156,16 +161,8 @@ public class CarSelectionScreen extends com.badlogic.gdx.ScreenAdapter {
     @Override
     public void hide() {
         batch.dispose();
-        backgroundTexture.dispose(); // Dispose of the background texture
-        font.dispose();
-        for (int i = 0; i < carTextures.length; i++) {
-            if (i != currentCarIndex) {
-                carTextures[i].dispose(); // Dispose only unused textures
-            }
-        }
+        game.getAssets().release(BACKGROUND); // Release the background texture
+        game.getAssets().release(CarGame.SPRITE_ATLAS); // Stays resident for the race screen
         stage.dispose();
-        if (backgroundMusic != null) {
-            backgroundMusic.dispose(); // Dispose of music to free resources
-        }
     }
 }
@@ -0,0 +1,197 @@
+package com.gdx.game;
+
+import java.util.Arrays;
+
+/**
+ * Uniform-grid broadphase over the road. The entities of one {@link EntityStore} are bucketed
+ * into fixed-size cells with a counting sort, then boxes are tested only against the entities
+ * sharing a cell with them. Entities outside the grid bounds are clamped into the edge cells,
+ * so nothing is missed, it is only tested more often. All buffers are reused between frames.
+ *
+ * <p>Each cell's boxes are copied next to each other as edge arrays, so that a query tests a whole
+ * cell with one {@link AabbKernel} call; the Vector API kernel is used with
+ * {@link GameOptions#VECTOR_COLLISIONS}.
+ */
+public class CollisionGrid {
+
+    /** Receives every overlapping pair found by a query. */
+    public interface HitListener {
+        /**
+         * @param queryIndex index of the box that was queried (the query store index, or the
+         *                   id passed to {@link #queryBox})
+         * @param gridIndex  index of the overlapping entity in the store the grid was built from
+         */
+        void onHit(int queryIndex, int gridIndex);
+    }
+
+    private static final AabbKernel DEFAULT_KERNEL = AabbKernel.select(GameOptions.VECTOR_COLLISIONS);
+
+    private final float cellSize;
+    private final AabbKernel kernel;
+    private float minX;
+    private float minY;
+    private int columns;
+    private int rows;
+
+    private int[] cellStart = new int[1];
+    private int[] cellFill = new int[1];
+    private int[] cellEntities = new int[64];
+    // Edges of the box in each cellEntities slot
+    private float[] cellMinX = new float[64];
+    private float[] cellMinY = new float[64];
+    private float[] cellMaxX = new float[64];
+    private float[] cellMaxY = new float[64];
+    private int[] hits = new int[64];
+    private int[] lastVisit = new int[64];
+    private int visitStamp;
+
+    private EntityStore entities;
+
+    public CollisionGrid(float cellSize) {
+        this(cellSize, DEFAULT_KERNEL);
+    }
+
+    public CollisionGrid(float cellSize, AabbKernel kernel) {
+        this.cellSize = cellSize;
+        this.kernel = kernel;
+    }
+
+    /** Sets the area covered by the grid. Only reallocates when the cell count grows. */
+    public void setBounds(float minX, float minY, float maxX, float maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        columns = Math.max(1, (int) Math.ceil((maxX - minX) / cellSize));
+        rows = Math.max(1, (int) Math.ceil((maxY - minY) / cellSize));
+        int cells = columns * rows;
+        if (cellStart.length < cells + 1) {
+            cellStart = new int[cells + 1];
+            cellFill = new int[cells];
+        }
+    }
+
+    /** Buckets every live entity of {@code store}. The store must not change until the queries are done. */
+    public void build(EntityStore store) {
+        entities = store;
+        int cells = columns * rows;
+        Arrays.fill(cellStart, 0, cells + 1, 0);
+
+        // First pass: count the entities overlapping each cell
+        int references = 0;
+        for (int i = 0; i < store.size(); i++) {
+            int x0 = column(store.getX(i));
+            int x1 = column(store.getX(i) + store.getWidth(i));
+            int y0 = row(store.getY(i));
+            int y1 = row(store.getY(i) + store.getHeight(i));
+            for (int row = y0; row <= y1; row++) {
+                for (int column = x0; column <= x1; column++) {
+                    cellStart[row * columns + column + 1]++;
+                }
+            }
+            references += (x1 - x0 + 1) * (y1 - y0 + 1);
+        }
+
+        // Prefix sum turns the counts into start offsets
+        for (int cell = 0; cell < cells; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        if (cellEntities.length < references) {
+            int capacity = Math.max(references, cellEntities.length * 2);
+            cellEntities = new int[capacity];
+            cellMinX = new float[capacity];
+            cellMinY = new float[capacity];
+            cellMaxX = new float[capacity];
+            cellMaxY = new float[capacity];
+            hits = new int[capacity];
+        }
+        if (lastVisit.length < store.capacity()) {
+            lastVisit = new int[store.capacity()];
+            visitStamp = 0;
+        }
+
+        // Second pass: write the entity indices and edges into their cells
+        System.arraycopy(cellStart, 0, cellFill, 0, cells);
+        for (int i = 0; i < store.size(); i++) {
+            float minX = store.getX(i);
+            float minY = store.getY(i);
+            float maxX = minX + store.getWidth(i);
+            float maxY = minY + store.getHeight(i);
+            int x0 = column(minX);
+            int x1 = column(maxX);
+            int y0 = row(minY);
+            int y1 = row(maxY);
+            for (int row = y0; row <= y1; row++) {
+                for (int column = x0; column <= x1; column++) {
+                    int slot = cellFill[row * columns + column]++;
+                    cellEntities[slot] = i;
+                    cellMinX[slot] = minX;
+                    cellMinY[slot] = minY;
+                    cellMaxX[slot] = maxX;
+                    cellMaxY[slot] = maxY;
+                }
+            }
+        }
+    }
+
+    /** Tests every live entity of {@code queries} against the grid. */
+    public void query(EntityStore queries, HitListener listener) {
+        for (int i = 0; i < queries.size(); i++) {
+            if (!queries.isAlive(i)) continue;
+            queryBox(queries.getX(i), queries.getY(i), queries.getWidth(i), queries.getHeight(i),
+                i, listener, queries);
+        }
+    }
+
+    /** Reports each live grid entity overlapping the given box once. */
+    public void queryBox(float x, float y, float width, float height, int queryIndex, HitListener listener) {
+        queryBox(x, y, width, height, queryIndex, listener, null);
+    }
+
+    private void queryBox(float x, float y, float width, float height, int queryIndex,
+                          HitListener listener, EntityStore queries) {
+        if (entities == null) return;
+        float maxX = x + width;
+        float maxY = y + height;
+        int x0 = column(x);
+        int x1 = column(maxX);
+        int y0 = row(y);
+        int y1 = row(maxY);
+        int stamp = nextVisitStamp();
+
+        for (int row = y0; row <= y1; row++) {
+            for (int column = x0; column <= x1; column++) {
+                int cell = row * columns + column;
+                int hitCount = kernel.overlaps(x, y, maxX, maxY, cellMinX, cellMinY, cellMaxX, cellMaxY,
+                    cellStart[cell], cellStart[cell + 1], hits);
+                for (int h = 0; h < hitCount; h++) {
+                    int other = cellEntities[hits[h]];
+                    // An entity spanning several cells overlaps in each of them, but is reported once
+                    if (lastVisit[other] == stamp) continue;
+                    lastVisit[other] = stamp;
+                    if (!entities.isAlive(other)) continue;
+
+                    listener.onHit(queryIndex, other);
+                    // Stop once the listener has consumed the query entity
+                    if (queries != null && !queries.isAlive(queryIndex)) return;
+                }
+            }
+        }
+    }
+
+    private int nextVisitStamp() {
+        if (++visitStamp == 0) {
+            Arrays.fill(lastVisit, 0);
+            visitStamp = 1;
+        }
+        return visitStamp;
+    }
+
+    private int column(float x) {
+        int column = (int) ((x - minX) / cellSize);
+        return Math.min(Math.max(column, 0), columns - 1);
+    }
+
+    private int row(float y) {
+        int row = (int) ((y - minY) / cellSize);
+        return Math.min(Math.max(row, 0), rows - 1);
+    }
+}
@@ -0,0 +1,54 @@
+package com.gdx.game;
+
+/**
+ * The tunable numbers behind a race's difficulty. {@link #DEFAULT} is what the game ships with;
+ * {@link DifficultyTuner} plays many races with other values to compare them.
+ */
+public class DifficultyParams {
+
+    public static final DifficultyParams DEFAULT = new DifficultyParams(300, 30, 10, 1, 180, 256);
+
+    /** Road scroll speed at the start of a race, in pixels per second. */
+    public final float startScrollSpeed;
+    /** Scroll speed added at every difficulty step, in pixels per second. */
+    public final float scrollSpeedStep;
+    /** Seconds of play between difficulty steps. */
+    public final int secondsPerSpeedStep;
+    /** Multiplies the spawn rate of every wave in the {@link SpawnTable}. */
+    public final float spawnDensity;
+    /** How much faster than the road enemies move, in pixels per second. */
+    public final float enemyExtraSpeed;
+    /** Most enemies on the road at once; spawns beyond it are dropped. */
+    public final int maxEnemies;
+
+    public DifficultyParams(float startScrollSpeed, float scrollSpeedStep, int secondsPerSpeedStep,
+                            float spawnDensity, float enemyExtraSpeed, int maxEnemies) {
+        if (secondsPerSpeedStep <= 0) {
+            throw new IllegalArgumentException("secondsPerSpeedStep must be positive: " + secondsPerSpeedStep);
+        }
+        this.startScrollSpeed = startScrollSpeed;
+        this.scrollSpeedStep = scrollSpeedStep;
+        this.secondsPerSpeedStep = secondsPerSpeedStep;
+        this.spawnDensity = spawnDensity;
+        this.enemyExtraSpeed = enemyExtraSpeed;
+        this.maxEnemies = maxEnemies;
+    }
+
+    /** A hash of every value, the same in every run; replays store it to notice when the difficulty changed. */
+    public int contentHash() {
+        int hash = Float.hashCode(startScrollSpeed);
+        hash = 31 * hash + Float.hashCode(scrollSpeedStep);
+        hash = 31 * hash + secondsPerSpeedStep;
+        hash = 31 * hash + Float.hashCode(spawnDensity);
+        hash = 31 * hash + Float.hashCode(enemyExtraSpeed);
+        return 31 * hash + maxEnemies;
+    }
+
+    @Override
+    public String toString() {
+        return "scroll=" + startScrollSpeed + "+" + scrollSpeedStep + "/" + secondsPerSpeedStep + "s"
+            + " density=x" + spawnDensity
+            + " enemySpeed=+" + enemyExtraSpeed
+            + " maxEnemies=" + maxEnemies;
+    }
+}
@@ -0,0 +1,150 @@
+package com.gdx.game;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays thousands of seeded headless races with {@link ScriptedBot} for each of a grid of
+ * {@link DifficultyParams} and prints the survival time and score distributions, so difficulty
+ * can be tuned from data. Races run in parallel on a fork-join pool sized to the machine.
+ *
+ * <pre>
+ * DifficultyTuner [races per set] [max seconds per race]
+ * </pre>
+ */
+public class DifficultyTuner {
+
+    private static final int TICKS_PER_SECOND = 60;
+    private static final float WORLD_WIDTH = 1080;
+    private static final float WORLD_HEIGHT = 800;
+    // Races split into tasks of at most this many
+    private static final int RACES_PER_TASK = 32;
+
+    public static void main(String[] args) throws IOException {
+        int races = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int maxSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+        SpawnTable spawnTable = SpawnTable.loadIfExists(Paths.get("assets", SpawnTable.ASSET));
+
+        List<DifficultyParams> candidates = new ArrayList<>();
+        for (float density : new float[]{0.5f, 1, 2}) {
+            for (float enemySpeed : new float[]{120, 180, 240}) {
+                for (float scrollStep : new float[]{15, 30, 45}) {
+                    for (int maxEnemies : new int[]{16, 256}) {
+                        candidates.add(new DifficultyParams(300, scrollStep, 10, density, enemySpeed, maxEnemies));
+                    }
+                }
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        System.out.printf("%d parameter sets x %d races on %d threads, %d s limit%n",
+            candidates.size(), races, pool.getParallelism(), maxSeconds);
+        System.out.println("params | survival s p10/p50/p90 | score p10/p50/p90/max | timed out");
+
+        long start = System.nanoTime();
+        try {
+            for (DifficultyParams params : candidates) {
+                RaceResults results = pool.invoke(new RaceBatch(params, spawnTable, 0, races, (long) maxSeconds * TICKS_PER_SECOND));
+                System.out.println(results.summary(params));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.printf("Done in %.1f s%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    /** Plays one race to game over or the tick limit; the simulation is reused between races. */
+    private static void playRace(RaceSimulation simulation, ScriptedBot bot, long seed, long maxTicks) {
+        simulation.reset(seed);
+        while (!simulation.isGameOver() && simulation.getTick() < maxTicks) {
+            simulation.tick(bot.decide(simulation));
+        }
+    }
+
+    /** Plays races with seeds {@code from..to-1}, splitting the range until it is small. */
+    private static class RaceBatch extends RecursiveTask<RaceResults> {
+        private final DifficultyParams params;
+        private final SpawnTable spawnTable;
+        private final int from;
+        private final int to;
+        private final long maxTicks;
+
+        RaceBatch(DifficultyParams params, SpawnTable spawnTable, int from, int to, long maxTicks) {
+            this.params = params;
+            this.spawnTable = spawnTable;
+            this.from = from;
+            this.to = to;
+            this.maxTicks = maxTicks;
+        }
+
+        @Override
+        protected RaceResults compute() {
+            if (to - from <= RACES_PER_TASK) {
+                RaceResults results = new RaceResults(to - from, maxTicks);
+                RaceSimulation simulation = new RaceSimulation(WORLD_WIDTH, WORLD_HEIGHT, TICKS_PER_SECOND, params, spawnTable);
+                ScriptedBot bot = new ScriptedBot();
+                for (int seed = from; seed < to; seed++) {
+                    playRace(simulation, bot, seed, maxTicks);
+                    results.ticks[seed - from] = simulation.getTick();
+                    results.scores[seed - from] = simulation.getScore();
+                }
+                return results;
+            }
+            int middle = (from + to) >>> 1;
+            RaceBatch left = new RaceBatch(params, spawnTable, from, middle, maxTicks);
+            left.fork();
+            RaceResults right = new RaceBatch(params, spawnTable, middle, to, maxTicks).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private static class RaceResults {
+        final long[] ticks;
+        final int[] scores;
+        final long maxTicks;
+
+        RaceResults(int count, long maxTicks) {
+            this.ticks = new long[count];
+            this.scores = new int[count];
+            this.maxTicks = maxTicks;
+        }
+
+        RaceResults merge(RaceResults other) {
+            RaceResults merged = new RaceResults(ticks.length + other.ticks.length, maxTicks);
+            System.arraycopy(ticks, 0, merged.ticks, 0, ticks.length);
+            System.arraycopy(other.ticks, 0, merged.ticks, ticks.length, other.ticks.length);
+            System.arraycopy(scores, 0, merged.scores, 0, scores.length);
+            System.arraycopy(other.scores, 0, merged.scores, scores.length, other.scores.length);
+            return merged;
+        }
+
+        String summary(DifficultyParams params) {
+            long[] sortedTicks = ticks.clone();
+            int[] sortedScores = scores.clone();
+            Arrays.sort(sortedTicks);
+            Arrays.sort(sortedScores);
+            long timedOut = Arrays.stream(ticks).filter(t -> t >= maxTicks).count();
+            return String.format("%s | %.1f/%.1f/%.1f | %d/%d/%d/%d | %.1f%%",
+                params,
+                percentile(sortedTicks, 10) / (double) TICKS_PER_SECOND,
+                percentile(sortedTicks, 50) / (double) TICKS_PER_SECOND,
+                percentile(sortedTicks, 90) / (double) TICKS_PER_SECOND,
+                percentile(sortedScores, 10), percentile(sortedScores, 50), percentile(sortedScores, 90),
+                sortedScores.length == 0 ? 0 : sortedScores[sortedScores.length - 1],
+                ticks.length == 0 ? 0 : 100.0 * timedOut / ticks.length);
+        }
+
+        private static long percentile(long[] sorted, int percent) {
+            return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, sorted.length * percent / 100)];
+        }
+
+        private static int percentile(int[] sorted, int percent) {
+            return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, sorted.length * percent / 100)];
+        }
+    }
+}
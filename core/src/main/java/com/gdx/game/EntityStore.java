@@ -0,0 +1,188 @@
+package com.gdx.game;
+
+import java.util.Arrays;
+
+/**
+ * Pool of moving boxes (missiles, enemies) kept as parallel primitive arrays. Live entities
+ * always occupy indices {@code 0..size()-1}; removing one moves the last entity into its slot,
+ * so the order is not stable across removals. The arrays only grow, so spawning and culling
+ * do not allocate once the pool is big enough.
+ */
+public class EntityStore {
+
+    private float[] x;
+    private float[] y;
+    private float[] previousX;
+    private float[] previousY;
+    private float[] width;
+    private float[] height;
+    private int[] textureId;
+    private boolean[] alive;
+    private int size;
+
+    public EntityStore(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 4);
+        x = new float[capacity];
+        y = new float[capacity];
+        previousX = new float[capacity];
+        previousY = new float[capacity];
+        width = new float[capacity];
+        height = new float[capacity];
+        textureId = new int[capacity];
+        alive = new boolean[capacity];
+    }
+
+    /** Adds an entity and returns its index. */
+    public int add(float x, float y, float width, float height, int textureId) {
+        if (size == this.x.length) {
+            grow();
+        }
+        int index = size++;
+        this.x[index] = x;
+        this.y[index] = y;
+        this.previousX[index] = x;
+        this.previousY[index] = y;
+        this.width[index] = width;
+        this.height[index] = height;
+        this.textureId[index] = textureId;
+        this.alive[index] = true;
+        return index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return x.length;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public float getX(int index) {
+        return x[index];
+    }
+
+    public float getY(int index) {
+        return y[index];
+    }
+
+    /** Position blended between the previous snapshot (alpha 0) and the current one (alpha 1). */
+    public float getInterpolatedX(int index, float alpha) {
+        return previousX[index] + (x[index] - previousX[index]) * alpha;
+    }
+
+    public float getInterpolatedY(int index, float alpha) {
+        return previousY[index] + (y[index] - previousY[index]) * alpha;
+    }
+
+    public float getWidth(int index) {
+        return width[index];
+    }
+
+    public float getHeight(int index) {
+        return height[index];
+    }
+
+    public int getTextureId(int index) {
+        return textureId[index];
+    }
+
+    public boolean isAlive(int index) {
+        return alive[index];
+    }
+
+    public void setPosition(int index, float x, float y) {
+        this.x[index] = x;
+        this.y[index] = y;
+    }
+
+    /** Remembers the current positions so the next frames can interpolate from them. */
+    public void storePreviousPositions() {
+        System.arraycopy(x, 0, previousX, 0, size);
+        System.arraycopy(y, 0, previousY, 0, size);
+    }
+
+    /** Moves every entity by the same amount. */
+    public void translateAll(float dx, float dy) {
+        for (int i = 0; i < size; i++) {
+            x[i] += dx;
+            y[i] += dy;
+        }
+    }
+
+    /** Flags an entity for removal by the next {@link #removeDead()}; indices stay valid until then. */
+    public void kill(int index) {
+        alive[index] = false;
+    }
+
+    /** Flags every entity that is entirely below {@code minY} or entirely above {@code maxY}. */
+    public void killOutside(float minY, float maxY) {
+        for (int i = 0; i < size; i++) {
+            if (y[i] + height[i] <= minY || y[i] > maxY) {
+                alive[i] = false;
+            }
+        }
+    }
+
+    /** Removes every flagged entity by swapping the last live one into its slot. */
+    public void removeDead() {
+        int i = 0;
+        while (i < size) {
+            if (alive[i]) {
+                i++;
+            } else {
+                removeAt(i);
+            }
+        }
+    }
+
+    /** Removes one entity immediately. The entity that was last now lives at {@code index}. */
+    public void removeAt(int index) {
+        int last = --size;
+        if (index != last) {
+            x[index] = x[last];
+            y[index] = y[last];
+            previousX[index] = previousX[last];
+            previousY[index] = previousY[last];
+            width[index] = width[last];
+            height[index] = height[last];
+            textureId[index] = textureId[last];
+            alive[index] = alive[last];
+        }
+    }
+
+    /** Makes this store an exact copy of {@code other}; allocates only if it has to grow. */
+    public void copyFrom(EntityStore other) {
+        while (x.length < other.size) {
+            grow();
+        }
+        size = other.size;
+        System.arraycopy(other.x, 0, x, 0, size);
+        System.arraycopy(other.y, 0, y, 0, size);
+        System.arraycopy(other.previousX, 0, previousX, 0, size);
+        System.arraycopy(other.previousY, 0, previousY, 0, size);
+        System.arraycopy(other.width, 0, width, 0, size);
+        System.arraycopy(other.height, 0, height, 0, size);
+        System.arraycopy(other.textureId, 0, textureId, 0, size);
+        System.arraycopy(other.alive, 0, alive, 0, size);
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        textureId = Arrays.copyOf(textureId, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+    }
+}
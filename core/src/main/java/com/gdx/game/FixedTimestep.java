@@ -0,0 +1,49 @@
+package com.gdx.game;
+
+/**
+ * Accumulator for running the simulation at a fixed tick rate regardless of the frame rate.
+ * Each frame adds its delta and asks how many whole ticks are due; whatever is left over
+ * becomes the interpolation factor for drawing between the last two ticks.
+ */
+public class FixedTimestep {
+
+    // Longest frame we try to catch up on, so a stall does not turn into a burst of ticks
+    private static final float MAX_FRAME_TIME = 0.25f;
+
+    private final int ticksPerSecond;
+    private final float tickSeconds;
+    private float accumulator;
+
+    public FixedTimestep(int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("ticksPerSecond must be positive: " + ticksPerSecond);
+        }
+        this.ticksPerSecond = ticksPerSecond;
+        this.tickSeconds = 1f / ticksPerSecond;
+    }
+
+    /** Adds a frame's delta time and returns the number of ticks to run for it. */
+    public int advance(float delta) {
+        accumulator += Math.min(Math.max(delta, 0), MAX_FRAME_TIME);
+        int ticks = (int) (accumulator / tickSeconds);
+        accumulator -= ticks * tickSeconds;
+        return ticks;
+    }
+
+    /** How far the current frame is between the previous tick (0) and the latest one (1). */
+    public float alpha() {
+        return Math.min(accumulator / tickSeconds, 1f);
+    }
+
+    public void reset() {
+        accumulator = 0;
+    }
+
+    public int getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    public float getTickSeconds() {
+        return tickSeconds;
+    }
+}
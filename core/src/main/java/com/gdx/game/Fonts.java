@@ -0,0 +1,81 @@
+package com.gdx.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The game font at the sizes the screens use, shared by all screens. The fonts are baked from
+ * assets/font.ttf by the {@code :tools:bakeFonts} task and all draw from one texture page.
+ * Screens must not dispose the fonts or change their scale. If the baked fonts are missing,
+ * the scaled libGDX default font is used instead.
+ */
+public class Fonts implements Disposable {
+
+    private static final String TAG = "Fonts";
+
+    // Pixel sizes; these must match the sizes baked in tools/build.gradle
+    public static final int SMALL = 30;
+    public static final int MEDIUM = 45;
+    public static final int LARGE = 60;
+    public static final int HUGE = 75;
+
+    private static final String FOLDER = "fonts/";
+    private static final String PAGE = FOLDER + "font.png";
+    // Line height of the libGDX default font, for scaling it when the baked fonts are missing
+    private static final float DEFAULT_FONT_SIZE = 15;
+
+    private final AssetService assets;
+    private final Map<Integer, BitmapFont> fonts = new HashMap<>();
+    private TextureRegion page;
+
+    public Fonts(AssetService assets) {
+        this.assets = assets;
+    }
+
+    /** Returns the font at {@code size} pixels, creating it on first use. */
+    public BitmapFont get(int size) {
+        BitmapFont font = fonts.get(size);
+        if (font == null) {
+            font = create(size);
+            fonts.put(size, font);
+        }
+        return font;
+    }
+
+    private BitmapFont create(int size) {
+        FileHandle fontFile = Gdx.files.internal(FOLDER + "font-" + size + ".fnt");
+        if (!fontFile.exists()) {
+            Gdx.app.error(TAG, "No baked font " + fontFile.path() + ", run :tools:bakeFonts. Using the default font.");
+            BitmapFont font = new BitmapFont();
+            font.getData().setScale(size / DEFAULT_FONT_SIZE);
+            return font;
+        }
+
+        if (page == null) {
+            Texture texture = assets.acquireTexture(PAGE); // Held until dispose()
+            texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+            page = new TextureRegion(texture);
+        }
+        return new BitmapFont(new BitmapFont.BitmapFontData(fontFile, false), page, true);
+    }
+
+    @Override
+    public void dispose() {
+        // Fonts built on the shared page do not own it, so this only frees the fallbacks' textures
+        for (BitmapFont font : fonts.values()) {
+            font.dispose();
+        }
+        fonts.clear();
+        if (page != null) {
+            assets.release(PAGE);
+            page = null;
+        }
+    }
+}
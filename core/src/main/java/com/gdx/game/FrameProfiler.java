@@ -0,0 +1,140 @@
+package com.gdx.game;
+
+import java.util.Locale;
+
+/**
+ * Times the phases of a race frame into one {@link Histogram} per phase. Wrap a phase as
+ * <pre>
+ * long start = profiler.start();
+ * ...
+ * start = profiler.lap(FrameProfiler.ENEMIES, start);
+ * </pre>
+ * While disabled, {@code start} and {@code lap} return 0 without reading the clock, so leaving
+ * the calls in costs a field read and a branch.
+ *
+ * <p>Besides times, {@link #DRAW_CALLS} and {@link #TEXTURE_BINDS} hold plain per-frame counts.
+ */
+public class FrameProfiler {
+
+    public static final int INPUT = 0;
+    public static final int SIMULATION = 1;
+    public static final int CAR = 2;
+    public static final int MISSILES = 3;
+    public static final int SPAWN = 4;
+    public static final int ENEMIES = 5;
+    public static final int COLLISIONS = 6;
+    public static final int ROAD = 7;
+    public static final int SPRITES = 8;
+    public static final int FRAME = 9;
+    public static final int DRAW_CALLS = 10;
+    public static final int TEXTURE_BINDS = 11;
+
+    private static final String[] NAMES = {
+        "input", "simulation", "  car", "  missiles", "  spawn", "  enemies", "  collisions",
+        "road", "sprites", "frame", "draw calls", "texture binds"};
+    private static final int FIRST_COUNTER = DRAW_CALLS;
+
+    /** Never enabled; lets code hold a profiler without null checks when nobody is profiling. */
+    public static final FrameProfiler DISABLED = new FrameProfiler();
+
+    private final Histogram[] histograms = new Histogram[NAMES.length];
+    private volatile boolean enabled;
+
+    public FrameProfiler() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (this == DISABLED && enabled) {
+            throw new IllegalStateException("The shared disabled profiler cannot be enabled");
+        }
+        this.enabled = enabled;
+    }
+
+    /** Returns the time a phase starts at, or 0 when disabled. */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /** Records the time since {@code start} for {@code phase} and returns now, the start of the next phase. */
+    public long lap(int phase, long start) {
+        if (!enabled) return 0;
+        long now = System.nanoTime();
+        histograms[phase].record(now - start);
+        return now;
+    }
+
+    /** Records a per-frame count such as {@link #DRAW_CALLS}. */
+    public void count(int counter, long value) {
+        if (enabled) {
+            histograms[counter].record(value);
+        }
+    }
+
+    public int getPhaseCount() {
+        return NAMES.length;
+    }
+
+    public String getName(int phase) {
+        return NAMES[phase].trim();
+    }
+
+    public Histogram getHistogram(int phase) {
+        return histograms[phase];
+    }
+
+    public void reset() {
+        for (Histogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    /** Appends one line per phase: name, p50, p99 and max, times in microseconds. */
+    public void appendSummary(StringBuilder text) {
+        for (int i = 0; i < NAMES.length; i++) {
+            Histogram histogram = histograms[i];
+            text.append(NAMES[i]).append(": ");
+            if (i < FIRST_COUNTER) {
+                appendMicros(text, histogram.getPercentile(50)).append(" / ");
+                appendMicros(text, histogram.getPercentile(99)).append(" / ");
+                appendMicros(text, histogram.getMax()).append(" us\n");
+            } else {
+                text.append(histogram.getPercentile(50)).append(" / ").append(histogram.getPercentile(99))
+                    .append(" / ").append(histogram.getMax()).append('\n');
+            }
+        }
+    }
+
+    private static StringBuilder appendMicros(StringBuilder text, long nanos) {
+        long tenths = nanos / 100;
+        return text.append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder("phase,unit,count,p50,p99,max\n");
+        for (int i = 0; i < NAMES.length; i++) {
+            Histogram histogram = histograms[i];
+            csv.append(getName(i)).append(',').append(i < FIRST_COUNTER ? "ns" : "count").append(',')
+                .append(histogram.getCount()).append(',').append(histogram.getPercentile(50)).append(',')
+                .append(histogram.getPercentile(99)).append(',').append(histogram.getMax()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\n");
+        for (int i = 0; i < NAMES.length; i++) {
+            Histogram histogram = histograms[i];
+            json.append(String.format(Locale.ROOT, "  \"%s\": {\"unit\": \"%s\", \"count\": %d, \"p50\": %d, \"p99\": %d, \"max\": %d}%s%n",
+                getName(i), i < FIRST_COUNTER ? "ns" : "count", histogram.getCount(), histogram.getPercentile(50),
+                histogram.getPercentile(99), histogram.getMax(), i < NAMES.length - 1 ? "," : ""));
+        }
+        return json.append("}\n").toString();
+    }
+}
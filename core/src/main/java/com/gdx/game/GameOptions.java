@@ -0,0 +1,44 @@
+package com.gdx.game;
+
+/**
+ * Launch-time switches, read from system properties (for example {@code -Dcargame.tickRate=30}).
+ */
+public final class GameOptions {
+
+    /** Simulation ticks per second. Lower it on weak hardware; gameplay speed stays the same. */
+    public static final int TICK_RATE = Integer.getInteger("cargame.tickRate", 60);
+
+    /** Whether every race is recorded to {@link #REPLAY_DIR} for reproducing bug reports. */
+    public static final boolean RECORD_REPLAYS = !"false".equals(System.getProperty("cargame.record"));
+
+    /** Local directory the replays are written to. */
+    public static final String REPLAY_DIR = System.getProperty("cargame.replayDir", "replays");
+
+    /** How many of the newest replays are kept in {@link #REPLAY_DIR}; older ones are deleted, 0 keeps them all. */
+    public static final int REPLAYS_KEPT = Integer.getInteger("cargame.replaysKept", 20);
+
+    /** Replay file to play back instead of reading the keyboard, or null. */
+    public static final String PLAYBACK_FILE = System.getProperty("cargame.replay");
+
+    /** Megabytes of textures kept loaded after no screen uses them, so going back is instant. */
+    public static final int ASSET_CACHE_MB = Integer.getInteger("cargame.assetCacheMb", 64);
+
+    /** Whether the race starts with the frame profiler overlay on; F3 toggles it either way. */
+    public static final boolean PROFILE = Boolean.getBoolean("cargame.profile");
+
+    /** Whether the race is simulated on its own thread, leaving the render thread to draw snapshots of it. */
+    public static final boolean SIMULATION_THREAD = Boolean.getBoolean("cargame.simulationThread");
+
+    /** "true" to print the startup milestones once the first frame is shown, "exit" to also quit; see {@link StartupTrace}. */
+    public static final String STARTUP_TRACE = System.getProperty("cargame.startupTrace");
+
+    /**
+     * Whether collisions are tested with the Vector API, several boxes per instruction. Needs
+     * {@code --add-modules jdk.incubator.vector}; without it the scalar kernel is used, which
+     * gives the same results.
+     */
+    public static final boolean VECTOR_COLLISIONS = Boolean.getBoolean("cargame.vectorCollisions");
+
+    private GameOptions() {
+    }
+}
@@ -0,0 +1,59 @@
+package com.gdx.game;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.Align;
+
+/**
+ * A line of HUD text in a fixed font and color, optionally followed by a number. The glyphs are
+ * laid out once and only laid out again when the number changes, so drawing an unchanged label
+ * allocates nothing and never touches the shared font's scale or color.
+ */
+public class HudLabel {
+
+    private final BitmapFont font;
+    private final Color color;
+    private final String prefix;
+    private final StringBuilder text = new StringBuilder(32);
+    private final GlyphLayout layout = new GlyphLayout();
+    private boolean hasValue;
+    private long value;
+
+    /** A label showing only {@code prefix}, or {@code prefix} and a value once one is set. */
+    public HudLabel(BitmapFont font, Color color, String prefix) {
+        this.font = font;
+        this.color = new Color(color);
+        this.prefix = prefix;
+        text.append(prefix);
+        layOut();
+    }
+
+    /** Shows {@code value} after the prefix; does nothing if it is already shown. */
+    public void setValue(long value) {
+        if (hasValue && this.value == value) return;
+        this.value = value;
+        hasValue = true;
+        text.setLength(0);
+        text.append(prefix).append(value);
+        layOut();
+    }
+
+    private void layOut() {
+        layout.setText(font, text, color, 0, Align.left, false);
+    }
+
+    /** Draws the label with the top of its first line at {@code y}, as {@link BitmapFont#draw} does. */
+    public void draw(Batch batch, float x, float y) {
+        font.draw(batch, layout, x, y);
+    }
+
+    public float getWidth() {
+        return layout.width;
+    }
+
+    public float getHeight() {
+        return layout.height;
+    }
+}
@@ -0,0 +1,44 @@
+package com.gdx.game;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded single-producer, single-consumer queue of {@link InputState} bits, used to pass the
+ * keyboard from the render thread to a {@link SimulationThread}. Offering and polling never
+ * lock or allocate.
+ */
+public class InputQueue {
+
+    /** Returned by {@link #poll()} when the queue is empty. Input bits are never negative. */
+    public static final int EMPTY = -1;
+
+    private final int[] buffer;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // Next slot to read, advanced by the consumer
+    private final AtomicLong tail = new AtomicLong(); // Next slot to write, advanced by the producer
+
+    /** @param capacity rounded up to a power of two */
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        buffer = new int[size];
+        mask = size - 1;
+    }
+
+    /** Adds bits from the producer thread; returns false if the queue is full. */
+    public boolean offer(int bits) {
+        long t = tail.get();
+        if (t - head.get() == buffer.length) return false;
+        buffer[(int) t & mask] = bits;
+        tail.lazySet(t + 1); // Publishes the slot written above
+        return true;
+    }
+
+    /** Takes the oldest bits on the consumer thread, or {@link #EMPTY}. */
+    public int poll() {
+        long h = head.get();
+        if (h == tail.get()) return EMPTY;
+        int bits = buffer[(int) h & mask];
+        head.lazySet(h + 1); // Frees the slot for the producer
+        return bits;
+    }
+}
@@ -0,0 +1,222 @@
+package com.gdx.game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Records the seed and per-tick {@link InputState} bits of a race so that {@link ReplayPlayer}
+ * can play it back exactly.
+ *
+ * <p>File layout (big-endian): the header described in {@link ReplayPlayer}, then one record per
+ * run of identical ticks: a byte with the bits that changed (XOR with the previous run) followed
+ * by the run length as a varint. An idle minute at 60 ticks per second is three bytes. When the
+ * world is resized, a {@link #WORLD_SIZE_RECORD} byte and the new width and height (floats)
+ * come before the run of the first tick played at the new size.
+ *
+ * <p>Records are packed into small buffers on the calling thread; full buffers are written by a
+ * background thread through a {@link FileChannel}, so recording never waits for the disk. Closing
+ * does not wait either: {@link #awaitWritten} does, before the application exits.
+ */
+public class InputRecorder implements Closeable {
+
+    static final int MAGIC = 0x43475250; // "CGRP"
+    static final byte VERSION = 3;
+    /** Marks a world size record; never a change of input bits, which all fit in the low six. */
+    static final int WORLD_SIZE_RECORD = 0x80;
+    /** Extension of replay files; {@link #deleteOlderReplays} only touches files ending in it. */
+    public static final String EXTENSION = ".rpl";
+
+    private static final int BUFFER_SIZE = 4096;
+    private static final int MAX_RECORD_SIZE = 1 + 4 + 4;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ExecutorService writer;
+    private final BlockingQueue<ByteBuffer> freeBuffers = new ArrayBlockingQueue<>(4);
+    private ByteBuffer buffer;
+    private volatile IOException writeError;
+
+    private int runBits;
+    private int runLength;
+    private int previousRunBits;
+    private float worldWidth;
+    private float worldHeight;
+    private long ticks;
+    private boolean closed;
+
+    /** Starts recording a race of {@code simulation}, which has just been reset with {@code seed}. */
+    public InputRecorder(Path file, long seed, RaceSimulation simulation) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.file = file;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replay-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        worldWidth = simulation.getWorldWidth();
+        worldHeight = simulation.getWorldHeight();
+        buffer.putInt(simulation.getTicksPerSecond());
+        buffer.putLong(seed);
+        buffer.putFloat(worldWidth);
+        buffer.putFloat(worldHeight);
+        buffer.putInt(simulation.getSpawnTable().contentHash());
+        buffer.putInt(simulation.getDifficulty().contentHash());
+    }
+
+    /**
+     * Deletes the replays next to this one, on the writer thread, so that only the newest
+     * {@code keep} remain, this one included. Replay names must sort by age, as timestamps do.
+     */
+    public void deleteOlderReplays(int keep) {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory == null) return;
+        writer.execute(() -> {
+            try (Stream<Path> files = Files.list(directory)) {
+                List<Path> replays = files
+                    .filter(path -> path.getFileName().toString().endsWith(EXTENSION))
+                    .sorted()
+                    .collect(Collectors.toList());
+                for (Path old : replays.subList(0, Math.max(0, replays.size() - keep))) {
+                    Files.deleteIfExists(old);
+                }
+            } catch (IOException e) {
+                if (writeError == null) writeError = e;
+            }
+        });
+    }
+
+    /**
+     * Notes the world size the next tick is played at; only written when it differs from the
+     * size of the previous tick. Call it before {@link #record} for that tick.
+     */
+    public void recordWorldSize(float width, float height) {
+        if (closed || (width == worldWidth && height == worldHeight)) return;
+        writeRun();
+        if (buffer.remaining() < MAX_RECORD_SIZE) {
+            submitBuffer();
+        }
+        buffer.put((byte) WORLD_SIZE_RECORD);
+        buffer.putFloat(width);
+        buffer.putFloat(height);
+        worldWidth = width;
+        worldHeight = height;
+    }
+
+    /** Appends the input used for one tick. */
+    public void record(int bits) {
+        if (closed) return;
+        ticks++;
+        if (runLength > 0 && bits == runBits) {
+            runLength++;
+            return;
+        }
+        writeRun();
+        runBits = bits;
+        runLength = 1;
+    }
+
+    public long getTickCount() {
+        return ticks;
+    }
+
+    private void writeRun() {
+        if (runLength == 0) return;
+        if (buffer.remaining() < MAX_RECORD_SIZE) {
+            submitBuffer();
+        }
+        buffer.put((byte) (runBits ^ previousRunBits));
+        int length = runLength;
+        while ((length & ~0x7F) != 0) {
+            buffer.put((byte) ((length & 0x7F) | 0x80));
+            length >>>= 7;
+        }
+        buffer.put((byte) length);
+        previousRunBits = runBits;
+        runLength = 0;
+    }
+
+    private void submitBuffer() {
+        ByteBuffer full = buffer;
+        full.flip();
+        writer.execute(() -> {
+            try {
+                while (full.hasRemaining()) {
+                    channel.write(full);
+                }
+            } catch (IOException e) {
+                if (writeError == null) writeError = e;
+            }
+            full.clear();
+            freeBuffers.offer(full);
+        });
+
+        // Reuse a buffer the writer is done with; only allocate while it is still behind
+        ByteBuffer next = freeBuffers.poll();
+        buffer = next != null ? next : ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+    /**
+     * Queues the last run and the closing of the file behind the buffers still being written, and
+     * returns without waiting for them. Only throws for a write that has already failed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        writeRun();
+        submitBuffer();
+        writer.execute(() -> {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                if (writeError == null) writeError = e;
+            }
+        });
+        writer.shutdown();
+        if (writeError != null) {
+            throw writeError;
+        }
+    }
+
+    /** Whether the file has been closed and everything written to it, or has failed to. */
+    public boolean isWritten() {
+        return writer.isTerminated();
+    }
+
+    /** Waits for a closed recorder to finish writing; throws if that takes too long or failed. */
+    public void awaitWritten(long timeout, TimeUnit unit) throws IOException {
+        try {
+            if (!writer.awaitTermination(timeout, unit)) {
+                throw new IOException("Timed out writing replay");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing replay", e);
+        }
+        if (writeError != null) {
+            throw writeError;
+        }
+    }
+}
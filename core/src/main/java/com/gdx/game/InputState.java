@@ -0,0 +1,53 @@
+package com.gdx.game;
+
+/**
+ * The player's input for one simulation tick, packed into a bit set. Held keys (the arrows)
+ * stay set while pressed; presses (fire, pause) are set once and cleared after the tick that
+ * consumed them.
+ */
+public class InputState {
+
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int UP = 1 << 2;
+    public static final int DOWN = 1 << 3;
+    public static final int FIRE = 1 << 4;
+    public static final int PAUSE = 1 << 5;
+
+    /** Bits that only last for one tick. */
+    public static final int PRESSES = FIRE | PAUSE;
+
+    private int bits;
+
+    public boolean isSet(int flag) {
+        return (bits & flag) != 0;
+    }
+
+    public void set(int flag, boolean value) {
+        if (value) {
+            bits |= flag;
+        } else {
+            bits &= ~flag;
+        }
+    }
+
+    public void press(int flag) {
+        bits |= flag;
+    }
+
+    public void clearPresses() {
+        bits &= ~PRESSES;
+    }
+
+    public int getBits() {
+        return bits;
+    }
+
+    public void setBits(int bits) {
+        this.bits = bits;
+    }
+
+    public void clear() {
+        bits = 0;
+    }
+}
@@ -0,0 +1,225 @@
+package com.gdx.game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The best scores ever played, with the car and the time of each, kept in a small text file.
+ *
+ * <p>All file work and every change to the list happen on one background thread, so submitting
+ * a score never waits for the disk. The file is loaded there the first time the leaderboard is
+ * used. Each save writes a temporary file, forces it to disk and atomically renames it over the
+ * old one, so a power cut leaves either the old or the new list, never a torn file.
+ *
+ * <p>File layout: one {@code score,car,timestamp} line per entry, best first. The car is the
+ * index picked on the car selection screen, or -1 if unknown. If there is no leaderboard yet,
+ * the single score in the old high score file is carried over.
+ */
+public class Leaderboard implements Closeable {
+
+    public static final int UNKNOWN_CAR = -1;
+
+    private final Path file;
+    private final Path legacyFile;
+    private final int capacity;
+    private final ExecutorService worker;
+
+    // Only touched on the worker thread
+    private final List<Entry> entries = new ArrayList<>();
+    // Immutable copy of entries for other threads
+    private volatile List<Entry> snapshot = Collections.emptyList();
+    private volatile IOException error;
+    private boolean loadRequested;
+
+    /**
+     * @param legacyFile the old single-number high score file, or null
+     */
+    public Leaderboard(Path file, Path legacyFile, int capacity) {
+        this.file = file;
+        this.legacyFile = legacyFile;
+        this.capacity = capacity;
+        worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Starts loading the file in the background if that has not happened yet. */
+    public synchronized void load() {
+        if (loadRequested) return;
+        loadRequested = true;
+        worker.execute(this::read);
+    }
+
+    /** Adds a score; it is kept and saved only if it makes the top {@code capacity}. */
+    public void submit(int score, int carIndex) {
+        submit(score, carIndex, System.currentTimeMillis());
+    }
+
+    public void submit(int score, int carIndex, long timestamp) {
+        load();
+        Entry entry = new Entry(score, carIndex, timestamp);
+        worker.execute(() -> {
+            int rank = 0;
+            while (rank < entries.size() && entries.get(rank).compareTo(entry) <= 0) {
+                rank++;
+            }
+            if (rank >= capacity) return;
+            entries.add(rank, entry);
+            if (entries.size() > capacity) {
+                entries.remove(entries.size() - 1);
+            }
+            publish();
+            write();
+        });
+    }
+
+    /** The entries loaded and submitted so far, best first. Empty until the file has been read. */
+    public List<Entry> getEntries() {
+        load();
+        return snapshot;
+    }
+
+    /** The best score so far, or 0. */
+    public int getBestScore() {
+        List<Entry> current = getEntries();
+        return current.isEmpty() ? 0 : current.get(0).score;
+    }
+
+    private void publish() {
+        snapshot = Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    private void read() {
+        try {
+            if (Files.exists(file)) {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    Entry entry = Entry.parse(line);
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+                entries.sort(null);
+                while (entries.size() > capacity) {
+                    entries.remove(entries.size() - 1);
+                }
+            } else if (legacyFile != null && Files.exists(legacyFile)) {
+                int score = Integer.parseInt(new String(Files.readAllBytes(legacyFile), StandardCharsets.UTF_8).trim());
+                if (score > 0) {
+                    entries.add(new Entry(score, UNKNOWN_CAR, Files.getLastModifiedTime(legacyFile).toMillis()));
+                    write();
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // A missing or unreadable list starts empty; the next save replaces it
+            error = e instanceof IOException ? (IOException) e : new IOException("Bad high score file", e);
+        }
+        publish();
+    }
+
+    private void write() {
+        StringBuilder text = new StringBuilder();
+        for (Entry entry : entries) {
+            text.append(entry.score).append(',').append(entry.carIndex).append(',').append(entry.timestamp).append('\n');
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer bytes = StandardCharsets.UTF_8.encode(text.toString());
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory(parent);
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    /** Makes the rename itself durable. Not every platform can open a directory, which is fine. */
+    private static void syncDirectory(Path directory) {
+        if (directory == null) return;
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Windows cannot; its rename is already durable
+        }
+    }
+
+    /**
+     * Waits for pending saves to finish.
+     *
+     * @throws IOException if the file could not be read or a save failed
+     */
+    @Override
+    public void close() throws IOException {
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(5, TimeUnit.SECONDS)) {
+                throw new IOException("Timed out saving the leaderboard");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while saving the leaderboard", e);
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    public static final class Entry implements Comparable<Entry> {
+        public final int score;
+        public final int carIndex;
+        public final long timestamp;
+
+        public Entry(int score, int carIndex, long timestamp) {
+            this.score = score;
+            this.carIndex = carIndex;
+            this.timestamp = timestamp;
+        }
+
+        static Entry parse(String line) {
+            String[] fields = line.trim().split(",");
+            if (fields.length != 3) return null;
+            try {
+                return new Entry(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]), Long.parseLong(fields[2]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        /** Best score first; equal scores keep the earlier one first. */
+        @Override
+        public int compareTo(Entry other) {
+            if (score != other.score) return Integer.compare(other.score, score);
+            return Long.compare(timestamp, other.timestamp);
+        }
+
+        @Override
+        public String toString() {
+            return score + " (car " + carIndex + ", " + timestamp + ")";
+        }
+    }
+}
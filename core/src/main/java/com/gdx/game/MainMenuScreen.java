@@ -1,8 +1,6 @@
 package com.gdx.game;
 
-import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
@@ -18,15 +16,15 @@ import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 
 public class MainMenuScreen extends com.badlogic.gdx.ScreenAdapter {
 
-    private final Game game;
+    private static final String BACKGROUND = "back.jpeg";
+
+    private final RacingGame game;
     private Stage stage;
     private SpriteBatch batch;
-    private Texture backgroundTexture;
     private BitmapFont font;
     private ShapeRenderer shapeRenderer;
-    private Music backgroundMusic; // Add a Music object
 
-    public MainMenuScreen(Game game) {
+    public MainMenuScreen(RacingGame game) {
         this.game = game;
     }
 
@@ -35,11 +33,11 @@ public class MainMenuScreen extends com.badlogic.gdx.ScreenAdapter {
         batch = new SpriteBatch();
         stage = new Stage(new ScreenViewport());
 
-        // Load the background image
-        backgroundTexture = new Texture("back.jpeg");
+        // Get the background image from the shared cache; decoded in the background if it is not there
+        game.getAssets().request(BACKGROUND, Texture.class);
 
-        // Get the default font with increased size
-        font = getDefaultFontWithIncreasedSize();
+        // The shared font, baked at the size we draw it
+        font = game.getFonts().get(Fonts.LARGE);
 
         // Create a ShapeRenderer for custom drawing
         shapeRenderer = new ShapeRenderer();
@@ -50,11 +48,8 @@ public class MainMenuScreen extends com.badlogic.gdx.ScreenAdapter {
         // Create and position the buttons
         createButtons();
 
-        // Load and configure the background music
-        backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("music.mp3"));
-        backgroundMusic.setLooping(true); // Set the music to loop
-        backgroundMusic.setVolume(0.5f); // Adjust volume (0.0 to 1.0)
-        backgroundMusic.play(); // Start the music
+        // Keep the menu music going, or start it if we come back from a race
+        game.getAudio().play(RacingGame.MENU_MUSIC);
     }
 
     @Override
@@ -63,22 +58,19 @@ public class MainMenuScreen extends com.badlogic.gdx.ScreenAdapter {
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        // Draw the background image
-        batch.begin();
-        batch.draw(backgroundTexture, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
-        batch.end();
+        // Draw the background image once it has loaded; until then the buttons show on black
+        Texture background = game.getAssets().get(BACKGROUND, Texture.class);
+        if (background != null) {
+            batch.begin();
+            batch.draw(background, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+            batch.end();
+        }
 
         // Draw the UI elements (buttons)
         stage.act(Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f));
         stage.draw();
     }
 
-    private BitmapFont getDefaultFontWithIncreasedSize() {
-        BitmapFont font = new BitmapFont();
-        font.getData().setScale(4.0f);
-        return font;
-    }
-
     private TextButton.TextButtonStyle getButtonStyle(BitmapFont font) {
         TextButton.TextButtonStyle style = new TextButton.TextButtonStyle();
         style.font = font;
@@ -95,7 +87,6 @@ public class MainMenuScreen extends com.badlogic.gdx.ScreenAdapter {
         startButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                backgroundMusic.stop(); // Stop music when transitioning to another screen
                 game.setScreen(new CarSelectionScreen(game));
             }
         });
@@ -104,7 +95,6 @@ public class MainMenuScreen extends com.badlogic.gdx.ScreenAdapter {
         exitButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                backgroundMusic.stop(); // Stop music when exiting the game
                 Gdx.app.exit();
             }
         });
@@ -131,14 +121,7 @@ public class MainMenuScreen extends com.badlogic.gdx.ScreenAdapter {
     @Override
     public void hide() {
         batch.dispose();
-        if (backgroundTexture != null) {
-            backgroundTexture.dispose(); // Dispose of background image texture
-        }
-        if (backgroundMusic != null) {
-            backgroundMusic.stop(); // Stop music when the screen is hidden
-            backgroundMusic.dispose(); // Dispose of music resource
-        }
-        font.dispose();
+        game.getAssets().release(BACKGROUND); // Stays cached for the next screen that needs it
         shapeRenderer.dispose();
         stage.dispose();
     }
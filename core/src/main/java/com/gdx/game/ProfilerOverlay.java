@@ -0,0 +1,115 @@
+package com.gdx.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * On-screen readout of a {@link FrameProfiler}: p50 / p99 / max of every phase, plus draw calls
+ * and texture binds from libGDX's {@link GLProfiler}, and the allocation and GC figures of the
+ * current screen from {@link AllocationMetrics}. F3 turns profiling and the overlay on and
+ * off; F4 writes the current figures to profile-&lt;time&gt;.csv and .json in the local directory.
+ * The text is only rebuilt a couple of times per second so that the overlay barely shows up in
+ * its own figures.
+ */
+public class ProfilerOverlay implements Disposable {
+
+    private static final String TAG = "ProfilerOverlay";
+    private static final float REFRESH_SECONDS = 0.5f;
+
+    private final FrameProfiler profiler;
+    private final AllocationMetrics allocationMetrics;
+    private final BitmapFont font;
+    private final GLProfiler glProfiler;
+    private final StringBuilder text = new StringBuilder(1024);
+    private final GlyphLayout layout = new GlyphLayout();
+    private float sinceRefresh = REFRESH_SECONDS;
+
+    public ProfilerOverlay(FrameProfiler profiler, AllocationMetrics allocationMetrics, BitmapFont font) {
+        this.profiler = profiler;
+        this.allocationMetrics = allocationMetrics;
+        this.font = font;
+        this.glProfiler = new GLProfiler(Gdx.graphics);
+        if (profiler.isEnabled()) {
+            glProfiler.enable();
+        }
+    }
+
+    /** Handles the toggle and dump keys; call once per frame. */
+    public void handleInput() {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) {
+            boolean enabled = !profiler.isEnabled();
+            profiler.setEnabled(enabled);
+            if (enabled) {
+                profiler.reset();
+                glProfiler.reset();
+                glProfiler.enable();
+                sinceRefresh = REFRESH_SECONDS;
+            } else {
+                glProfiler.disable();
+            }
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F4)) {
+            dump();
+        }
+    }
+
+    /** Moves the GL counts of the frame just finished into the profiler. Call at the start of a frame. */
+    public void beginFrame() {
+        if (!profiler.isEnabled()) return;
+        profiler.count(FrameProfiler.DRAW_CALLS, glProfiler.getDrawCalls());
+        profiler.count(FrameProfiler.TEXTURE_BINDS, glProfiler.getTextureBindings());
+        glProfiler.reset();
+    }
+
+    /** Draws the readout with its top left corner at {@code x, y}; the batch must be drawing. */
+    public void draw(Batch batch, float x, float y, float delta) {
+        if (!profiler.isEnabled()) return;
+        sinceRefresh += delta;
+        if (sinceRefresh >= REFRESH_SECONDS) {
+            sinceRefresh = 0;
+            text.setLength(0);
+            text.append("phase: p50 / p99 / max (F4 to dump)\n");
+            profiler.appendSummary(text);
+            appendAllocations();
+            layout.setText(font, text, Color.YELLOW, 0, Align.left, false);
+        }
+        font.draw(batch, layout, x, y);
+    }
+
+    private void appendAllocations() {
+        AllocationMetrics.Scope scope = allocationMetrics.getCurrent();
+        Histogram bytes = scope.getBytesPerFrame();
+        if (allocationMetrics.isAllocationSupported()) {
+            text.append("alloc bytes/frame: ").append(bytes.getPercentile(50)).append(" / ")
+                .append(bytes.getPercentile(99)).append(" / ").append(bytes.getMax()).append('\n');
+        } else {
+            text.append("alloc bytes/frame: not supported by this JVM\n");
+        }
+        text.append("gc in ").append(scope.getName()).append(": ").append(scope.getGcCount())
+            .append(" (").append(scope.getGcMillis()).append(" ms)\n");
+    }
+
+    private void dump() {
+        String name = "profile-" + System.currentTimeMillis();
+        try {
+            Gdx.files.local(name + ".csv").writeString(profiler.toCsv(), false);
+            Gdx.files.local(name + ".json").writeString(profiler.toJson(), false);
+            Gdx.app.log(TAG, "Wrote " + name + ".csv and .json");
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error(TAG, "Error writing profile: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void dispose() {
+        glProfiler.disable();
+    }
+}
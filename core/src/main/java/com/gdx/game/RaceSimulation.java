@@ -0,0 +1,317 @@
+package com.gdx.game;
+
+import java.util.Random;
+
+/**
+ * The game rules of a race, without any libGDX dependency: the player's car, enemies,
+ * missiles, the scroll of the road and crowd, score, pause and game over. {@link #tick(InputState)} advances
+ * the race by one fixed step, so the same seed and inputs always play out the same way, with or
+ * without a window. {@link CarGame} draws it.
+ */
+public class RaceSimulation implements RaceState {
+
+    public static final int CAR_WIDTH = 100;
+    public static final int CAR_HEIGHT = 160;
+    public static final int BORDER_WIDTH = 20;
+    public static final int GRASS_WIDTH = 200;
+    public static final int LANE_LINE_HEIGHT = 50;
+    public static final int LANE_LINE_WIDTH = 5;
+    public static final int MISSILE_WIDTH = 10;
+    public static final int MISSILE_HEIGHT = 40;
+    public static final int ENEMY_WIDTH = 100;
+    public static final int ENEMY_HEIGHT = 160;
+    /** Distance between the rows of a spawn formation. */
+    public static final int SPAWN_ROW_HEIGHT = ENEMY_HEIGHT + 60;
+
+    // Speeds are in pixels per second so that they do not depend on the tick rate
+    private static final float CAR_SPEED = 600;
+    private static final float MISSILE_SPEED = 900;
+    private static final int COLLISION_CELL_SIZE = 128;
+    private static final int POINTS_PER_ENEMY = 10;
+
+    // Texture ids stored per entity in the EntityStores
+    public static final int TEXTURE_CAR = 0;
+    public static final int TEXTURE_YELLOW_ENEMY = 1;
+    public static final int TEXTURE_BLUE_ENEMY = 2;
+
+    private final int ticksPerSecond;
+    private final float tickSeconds;
+    private final DifficultyParams difficulty;
+    private final SpawnTable spawnTable;
+    private final SpawnScheduler spawnScheduler;
+    private float worldWidth;
+    private float worldHeight;
+
+    private final EntityStore missiles;
+    private final EntityStore enemies;
+    private final CollisionGrid collisionGrid;
+    private final CollisionGrid.HitListener missileHitListener;
+    private final CollisionGrid.HitListener carHitListener;
+    private final Random random;
+    private FrameProfiler profiler = FrameProfiler.DISABLED;
+
+    private float carX;
+    private float carY;
+    private float previousCarX;
+    private float previousCarY;
+    private float scrollSpeed; // pixels per second
+    private float lastScrollStep; // pixels scrolled by the latest tick
+    private double scrollDistance; // pixels scrolled since the reset; double so it stays exact in long races
+    private long tick;
+    private int score;
+    private boolean paused;
+    private boolean gameOver;
+
+    public RaceSimulation(float worldWidth, float worldHeight, int ticksPerSecond) {
+        this(worldWidth, worldHeight, ticksPerSecond, DifficultyParams.DEFAULT);
+    }
+
+    public RaceSimulation(float worldWidth, float worldHeight, int ticksPerSecond, DifficultyParams difficulty) {
+        this(worldWidth, worldHeight, ticksPerSecond, difficulty, SpawnTable.DEFAULT);
+    }
+
+    public RaceSimulation(float worldWidth, float worldHeight, int ticksPerSecond, DifficultyParams difficulty,
+                          SpawnTable spawnTable) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("ticksPerSecond must be positive: " + ticksPerSecond);
+        }
+        this.ticksPerSecond = ticksPerSecond;
+        this.tickSeconds = 1f / ticksPerSecond;
+        this.difficulty = difficulty;
+        this.spawnTable = spawnTable;
+        this.spawnScheduler = new SpawnScheduler(spawnTable, ticksPerSecond, difficulty.spawnDensity);
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+
+        missiles = new EntityStore(64);
+        enemies = new EntityStore(64);
+        collisionGrid = new CollisionGrid(COLLISION_CELL_SIZE);
+        random = new Random();
+
+        // Created once so that collision checks do not allocate every tick
+        missileHitListener = (missile, enemy) -> {
+            missiles.kill(missile);
+            enemies.kill(enemy);
+            score += POINTS_PER_ENEMY;
+        };
+        carHitListener = (car, enemy) -> gameOver = true;
+
+        reset(0);
+    }
+
+    /** Starts a new race whose random events are determined by {@code seed}. */
+    public void reset(long seed) {
+        random.setSeed(seed);
+
+        carX = worldWidth / 2f - CAR_WIDTH / 2f;
+        carY = 100;
+        previousCarX = carX;
+        previousCarY = carY;
+
+        enemies.clear();
+        missiles.clear();
+        spawnScheduler.reset();
+
+        scrollSpeed = difficulty.startScrollSpeed;
+        lastScrollStep = 0;
+        scrollDistance = 0;
+        tick = 0;
+        score = 0;
+        paused = false;
+        gameOver = false;
+    }
+
+    /** Changes the playfield size; used when the window is resized. */
+    public void setWorldSize(float worldWidth, float worldHeight) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        carX = Math.min(Math.max(carX, leftBoundary()), rightBoundary());
+        carY = Math.min(Math.max(carY, 0), worldHeight - CAR_HEIGHT);
+    }
+
+    /** Times each step of {@link #tick} into {@code profiler}. */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /** Advances the race by one tick. Does nothing once the game is over. */
+    public void tick(InputState input) {
+        if (gameOver) return;
+
+        if (input.isSet(InputState.PAUSE)) {
+            paused = !paused;
+        }
+        if (paused) return;
+
+        lastScrollStep = scrollSpeed * tickSeconds;
+        scrollDistance += lastScrollStep;
+        previousCarX = carX;
+        previousCarY = carY;
+        missiles.storePreviousPositions();
+        enemies.storePreviousPositions();
+
+        long start = profiler.start();
+        updateCar(input);
+        start = profiler.lap(FrameProfiler.CAR, start);
+        updateMissiles();
+        start = profiler.lap(FrameProfiler.MISSILES, start);
+        spawnEnemies();
+        start = profiler.lap(FrameProfiler.SPAWN, start);
+        updateEnemies();
+        start = profiler.lap(FrameProfiler.ENEMIES, start);
+        checkCollisions();
+        profiler.lap(FrameProfiler.COLLISIONS, start);
+
+        // Difficulty goes up after a fixed number of ticks, not wall-clock time
+        tick++;
+        if (tick % ((long) difficulty.secondsPerSpeedStep * ticksPerSecond) == 0) {
+            scrollSpeed += difficulty.scrollSpeedStep;
+        }
+    }
+
+    private void updateCar(InputState input) {
+        float distance = CAR_SPEED * tickSeconds;
+
+        if (input.isSet(InputState.LEFT)) carX = Math.max(carX - distance, leftBoundary());
+        if (input.isSet(InputState.RIGHT)) carX = Math.min(carX + distance, rightBoundary());
+        if (input.isSet(InputState.UP)) carY = Math.min(carY + distance, worldHeight - CAR_HEIGHT);
+        if (input.isSet(InputState.DOWN)) carY = Math.max(carY - distance, 0);
+
+        if (input.isSet(InputState.FIRE)) {
+            missiles.add(carX + CAR_WIDTH / 2f - MISSILE_WIDTH / 2f, carY + CAR_HEIGHT,
+                MISSILE_WIDTH, MISSILE_HEIGHT, TEXTURE_CAR);
+        }
+    }
+
+    private void updateMissiles() {
+        missiles.translateAll(0, MISSILE_SPEED * tickSeconds);
+        missiles.killOutside(Float.NEGATIVE_INFINITY, worldHeight);
+        missiles.removeDead();
+    }
+
+    private void spawnEnemies() {
+        for (int pattern = spawnScheduler.poll(tick); pattern >= 0; pattern = spawnScheduler.poll(tick)) {
+            spawnFormation(spawnTable.getPattern(pattern));
+        }
+    }
+
+    /** Places a formation at a random lane where it fits, its first row just above the screen. */
+    private void spawnFormation(SpawnTable.Pattern pattern) {
+        float laneWidth = roadWidth() / spawnTable.getLanes();
+        int firstLane = random.nextInt(spawnTable.getLanes() - pattern.getWidth() + 1);
+        for (int i = 0; i < pattern.size() && enemies.size() < difficulty.maxEnemies; i++) {
+            int texture = pattern.getTexture(i);
+            if (texture == SpawnTable.RANDOM_TEXTURE) {
+                texture = random.nextBoolean() ? TEXTURE_YELLOW_ENEMY : TEXTURE_BLUE_ENEMY;
+            }
+            float x = leftBoundary() + (firstLane + pattern.getLane(i) + 0.5f) * laneWidth - ENEMY_WIDTH / 2f;
+            float y = worldHeight + pattern.getRow(i) * SPAWN_ROW_HEIGHT;
+            enemies.add(x, y, ENEMY_WIDTH, ENEMY_HEIGHT, texture);
+        }
+    }
+
+    private void updateEnemies() {
+        enemies.translateAll(0, -(scrollSpeed + difficulty.enemyExtraSpeed) * tickSeconds);
+        enemies.killOutside(0, Float.POSITIVE_INFINITY);
+        enemies.removeDead();
+    }
+
+    private void checkCollisions() {
+        collisionGrid.setBounds(leftBoundary(), 0, worldWidth - GRASS_WIDTH - BORDER_WIDTH, worldHeight);
+        collisionGrid.build(enemies);
+
+        // Missiles destroy the first enemy they touch
+        collisionGrid.query(missiles, missileHitListener);
+
+        // Any remaining enemy touching the car ends the game
+        collisionGrid.queryBox(carX, carY, CAR_WIDTH, CAR_HEIGHT, 0, carHitListener);
+
+        missiles.removeDead();
+        enemies.removeDead();
+    }
+
+    private float leftBoundary() {
+        return GRASS_WIDTH + BORDER_WIDTH;
+    }
+
+    private float rightBoundary() {
+        return worldWidth - GRASS_WIDTH - BORDER_WIDTH - CAR_WIDTH;
+    }
+
+    private float roadWidth() {
+        return worldWidth - 2 * (GRASS_WIDTH + BORDER_WIDTH);
+    }
+
+    public float getWorldWidth() {
+        return worldWidth;
+    }
+
+    public float getWorldHeight() {
+        return worldHeight;
+    }
+
+    public int getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    public DifficultyParams getDifficulty() {
+        return difficulty;
+    }
+
+    public SpawnTable getSpawnTable() {
+        return spawnTable;
+    }
+
+    public float getCarX() {
+        return carX;
+    }
+
+    public float getCarY() {
+        return carY;
+    }
+
+    public float getInterpolatedCarX(float alpha) {
+        return previousCarX + (carX - previousCarX) * alpha;
+    }
+
+    public float getInterpolatedCarY(float alpha) {
+        return previousCarY + (carY - previousCarY) * alpha;
+    }
+
+    public EntityStore getMissiles() {
+        return missiles;
+    }
+
+    public EntityStore getEnemies() {
+        return enemies;
+    }
+
+    /**
+     * Total distance the road has scrolled, interpolated {@code alpha} of the way from the
+     * previous tick to the latest one.
+     */
+    public double getScrollDistance(float alpha) {
+        return scrollDistance - lastScrollStep * (1 - alpha);
+    }
+
+    public float getScrollSpeed() {
+        return scrollSpeed;
+    }
+
+    /** Number of ticks played since the last reset, not counting paused ones. */
+    public long getTick() {
+        return tick;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+}
@@ -0,0 +1,105 @@
+package com.gdx.game;
+
+/**
+ * A copy of everything {@link CarGame} draws, taken from a {@link RaceSimulation} after a tick.
+ * A {@link SimulationThread} fills snapshots on its own thread and hands them to the render
+ * thread through a {@link TripleBuffer}, so the renderer never reads the live simulation.
+ * Copying reuses the snapshot's arrays and does not allocate once they are big enough.
+ */
+public class RaceSnapshot implements RaceState {
+
+    private final EntityStore missiles = new EntityStore(64);
+    private final EntityStore enemies = new EntityStore(64);
+    private float worldWidth;
+    private float worldHeight;
+    private float previousCarX;
+    private float previousCarY;
+    private float carX;
+    private float carY;
+    private double previousScrollDistance;
+    private double scrollDistance;
+    private long tick;
+    private int score;
+    private boolean paused;
+    private boolean gameOver;
+    private long publishedNanos;
+
+    /** Copies the current state of {@code simulation}, stamped with the time it is published. */
+    public void copyFrom(RaceSimulation simulation, long publishedNanos) {
+        missiles.copyFrom(simulation.getMissiles());
+        enemies.copyFrom(simulation.getEnemies());
+        worldWidth = simulation.getWorldWidth();
+        worldHeight = simulation.getWorldHeight();
+        previousCarX = simulation.getInterpolatedCarX(0);
+        previousCarY = simulation.getInterpolatedCarY(0);
+        carX = simulation.getCarX();
+        carY = simulation.getCarY();
+        previousScrollDistance = simulation.getScrollDistance(0);
+        scrollDistance = simulation.getScrollDistance(1);
+        tick = simulation.getTick();
+        score = simulation.getScore();
+        paused = simulation.isPaused();
+        gameOver = simulation.isGameOver();
+        this.publishedNanos = publishedNanos;
+    }
+
+    /** How far the render thread is from this tick to the next one, for interpolation. */
+    public float alphaAt(long nanos, long tickNanos) {
+        return Math.min(Math.max((nanos - publishedNanos) / (float) tickNanos, 0), 1);
+    }
+
+    @Override
+    public float getWorldWidth() {
+        return worldWidth;
+    }
+
+    @Override
+    public float getWorldHeight() {
+        return worldHeight;
+    }
+
+    @Override
+    public float getInterpolatedCarX(float alpha) {
+        return previousCarX + (carX - previousCarX) * alpha;
+    }
+
+    @Override
+    public float getInterpolatedCarY(float alpha) {
+        return previousCarY + (carY - previousCarY) * alpha;
+    }
+
+    @Override
+    public EntityStore getMissiles() {
+        return missiles;
+    }
+
+    @Override
+    public EntityStore getEnemies() {
+        return enemies;
+    }
+
+    @Override
+    public double getScrollDistance(float alpha) {
+        return previousScrollDistance + (scrollDistance - previousScrollDistance) * alpha;
+    }
+
+    @Override
+    public long getTick() {
+        return tick;
+    }
+
+    @Override
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public boolean isPaused() {
+        return paused;
+    }
+
+    @Override
+    public boolean isGameOver() {
+        return gameOver;
+    }
+}
@@ -0,0 +1,33 @@
+package com.gdx.game;
+
+/**
+ * What is needed to draw a race, read either straight from the {@link RaceSimulation} or from a
+ * {@link RaceSnapshot} published by a {@link SimulationThread}. {@code alpha} blends from the
+ * previous tick (0) to the latest one (1).
+ */
+public interface RaceState {
+
+    float getWorldWidth();
+
+    float getWorldHeight();
+
+    float getInterpolatedCarX(float alpha);
+
+    float getInterpolatedCarY(float alpha);
+
+    /** Missiles; read only. */
+    EntityStore getMissiles();
+
+    /** Enemies; read only. */
+    EntityStore getEnemies();
+
+    double getScrollDistance(float alpha);
+
+    long getTick();
+
+    int getScore();
+
+    boolean isPaused();
+
+    boolean isGameOver();
+}
@@ -0,0 +1,143 @@
+package com.gdx.game;
+
+import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application: owns the services shared by all screens and starts on the main menu.
+ */
+public class RacingGame extends Game {
+
+    public static final String MENU_MUSIC = "music.mp3";
+    private static final float MUSIC_VOLUME = 0.5f;
+    private static final int LEADERBOARD_SIZE = 10;
+    private static final int REPLAY_WRITE_TIMEOUT_SECONDS = 5;
+
+    private AssetService assets;
+    private AudioService audio;
+    private Fonts fonts;
+    private Leaderboard leaderboard;
+    private FrameProfiler profiler;
+    private AllocationMetrics allocationMetrics;
+    private final List<InputRecorder> closedReplays = new ArrayList<>(); // Possibly still being written
+    private boolean firstFrameRendered; // For the startup trace
+
+    @Override
+    public void create() {
+        StartupTrace.mark(StartupTrace.CREATE);
+        allocationMetrics = new AllocationMetrics();
+        assets = new AssetService(GameOptions.ASSET_CACHE_MB * 1024L * 1024L);
+        audio = new AudioService(MUSIC_VOLUME);
+        fonts = new Fonts(assets);
+        leaderboard = new Leaderboard(Gdx.files.local("leaderboard.txt").file().toPath(),
+            Gdx.files.local("highscore.txt").file().toPath(), LEADERBOARD_SIZE);
+        leaderboard.load(); // Read in the background while the menus are up
+        profiler = new FrameProfiler();
+        profiler.setEnabled(GameOptions.PROFILE);
+        setScreen(new MainMenuScreen(this));
+    }
+
+    @Override
+    public void setScreen(Screen screen) {
+        // Attribute allocations and GCs to the new screen, including its show()
+        allocationMetrics.enter(screen == null ? "none" : screen.getClass().getSimpleName());
+        super.setScreen(screen);
+        StartupTrace.mark(StartupTrace.SHOW); // Only the first show() counts
+    }
+
+    @Override
+    public void render() {
+        if (StartupTrace.isEnabled()) {
+            traceFirstFrame();
+        }
+        allocationMetrics.beginFrame();
+        assets.update(); // Uploads textures decoded in the background
+        super.render();
+        audio.update(Gdx.graphics.getDeltaTime());
+        allocationMetrics.endFrame();
+    }
+
+    private void traceFirstFrame() {
+        // The first frame is presented by the buffer swap after it, so it is on screen when the second one starts
+        if (!firstFrameRendered) {
+            firstFrameRendered = true;
+            return;
+        }
+        if (StartupTrace.isMarked(StartupTrace.FRAME)) return;
+        StartupTrace.mark(StartupTrace.FRAME);
+        Gdx.app.log("StartupTrace", StartupTrace.report());
+        if (StartupTrace.exitsWhenDone()) {
+            Gdx.app.exit();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose(); // Hides the current screen, which releases its assets
+        fonts.dispose();
+        assets.dispose();
+        audio.dispose();
+        try {
+            leaderboard.close(); // Waits for a score saved just before quitting
+        } catch (IOException e) {
+            Gdx.app.error("RacingGame", "Could not save the leaderboard", e);
+        }
+        allocationMetrics.dispose();
+        // The writer threads are daemons; the last replay is lost if the JVM exits before it is written
+        for (InputRecorder replay : closedReplays) {
+            awaitReplay(replay, REPLAY_WRITE_TIMEOUT_SECONDS);
+        }
+        closedReplays.clear();
+    }
+
+    /** Takes a replay that was closed without waiting for it, so that exiting the game waits until it is written. */
+    public void addClosedReplay(InputRecorder replay) {
+        for (Iterator<InputRecorder> iterator = closedReplays.iterator(); iterator.hasNext(); ) {
+            InputRecorder written = iterator.next();
+            if (written.isWritten()) {
+                awaitReplay(written, 0); // Reports a failed write
+                iterator.remove();
+            }
+        }
+        closedReplays.add(replay);
+    }
+
+    private static void awaitReplay(InputRecorder replay, long timeoutSeconds) {
+        try {
+            replay.awaitWritten(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (IOException e) {
+            Gdx.app.error("RacingGame", "Could not write a replay", e);
+        }
+    }
+
+    public AssetService getAssets() {
+        return assets;
+    }
+
+    public AudioService getAudio() {
+        return audio;
+    }
+
+    public Fonts getFonts() {
+        return fonts;
+    }
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    public AllocationMetrics getAllocationMetrics() {
+        return allocationMetrics;
+    }
+}
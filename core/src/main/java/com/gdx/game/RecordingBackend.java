@@ -0,0 +1,85 @@
+package com.gdx.game;
+
+import java.util.Arrays;
+
+/**
+ * A {@link RenderBackend} that draws nothing and keeps what it was given, so that a frame can be
+ * checked without a GPU: which textures in which order, where, and how many draw calls a batch
+ * of a given size would have needed. {@link #clear()} starts a new recording.
+ */
+public class RecordingBackend implements RenderBackend {
+
+    private static final int FLOATS_PER_SPRITE = 4;
+
+    private int[] textures = new int[64];
+    private float[] bounds = new float[64 * FLOATS_PER_SPRITE];
+    private int size;
+
+    @Override
+    public void draw(int texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+        if (size == textures.length) {
+            textures = Arrays.copyOf(textures, size * 2);
+            bounds = Arrays.copyOf(bounds, size * 2 * FLOATS_PER_SPRITE);
+        }
+        int offset = size * FLOATS_PER_SPRITE;
+        bounds[offset] = x;
+        bounds[offset + 1] = y;
+        bounds[offset + 2] = width;
+        bounds[offset + 3] = height;
+        textures[size++] = texture;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int getSpriteCount() {
+        return size;
+    }
+
+    public int getTexture(int index) {
+        return textures[index];
+    }
+
+    public float getX(int index) {
+        return bounds[index * FLOATS_PER_SPRITE];
+    }
+
+    public float getY(int index) {
+        return bounds[index * FLOATS_PER_SPRITE + 1];
+    }
+
+    public float getWidth(int index) {
+        return bounds[index * FLOATS_PER_SPRITE + 2];
+    }
+
+    public float getHeight(int index) {
+        return bounds[index * FLOATS_PER_SPRITE + 3];
+    }
+
+    /** How often the texture changed from one sprite to the next. */
+    public int getTextureSwitches() {
+        int switches = 0;
+        for (int i = 1; i < size; i++) {
+            if (textures[i] != textures[i - 1]) switches++;
+        }
+        return switches;
+    }
+
+    /**
+     * Draw calls a SpriteBatch holding {@code batchSize} sprites would make for the recording:
+     * one per run of the same texture, plus one more each time a run fills the batch.
+     */
+    public int getDrawCalls(int batchSize) {
+        int calls = 0;
+        int run = 0;
+        for (int i = 0; i < size; i++) {
+            if (i > 0 && textures[i] != textures[i - 1]) {
+                calls += (run + batchSize - 1) / batchSize;
+                run = 0;
+            }
+            run++;
+        }
+        return calls + (run + batchSize - 1) / batchSize;
+    }
+}
@@ -0,0 +1,11 @@
+package com.gdx.game;
+
+/**
+ * Where a {@link RenderQueue} sends its sorted sprites: {@link SpriteBatchBackend} draws them,
+ * {@link RecordingBackend} keeps them for headless tests and draw call counts.
+ */
+public interface RenderBackend {
+
+    /** Draws one sprite; the coordinates are as for {@link RenderQueue#sprite}. */
+    void draw(int texture, float x, float y, float width, float height, float u, float v, float u2, float v2);
+}
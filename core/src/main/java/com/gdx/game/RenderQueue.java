@@ -0,0 +1,114 @@
+package com.gdx.game;
+
+import java.util.Arrays;
+
+/**
+ * Sprites to draw this frame, collected from game code and handed to a {@link RenderBackend}
+ * sorted by layer and then by texture, so each texture is bound once per layer however the
+ * entity lists happen to be ordered. Commands are packed into primitive arrays that only grow,
+ * so queueing a frame does not allocate.
+ *
+ * <p>Layers draw from 0 up. Within a layer, sprites sharing a texture keep the order they were
+ * queued in, but sprites with different textures do not: put anything that must cover
+ * something with another texture on a higher layer.
+ */
+public class RenderQueue {
+
+    /** Floats per sprite: x, y, width, height, u, v, u2, v2. */
+    private static final int FLOATS_PER_SPRITE = 8;
+
+    private final int layers;
+    private final int textures;
+    private final int[] bucketStarts; // Counting sort, one bucket per layer and texture
+    private float[] data;
+    private int[] keys; // layer * textures + texture, per sprite
+    private int[] order;
+    private int size;
+
+    /**
+     * @param layers   number of layers, ids {@code 0..layers-1}
+     * @param textures number of texture ids the backend knows, {@code 0..textures-1}
+     */
+    public RenderQueue(int layers, int textures, int initialCapacity) {
+        if (layers <= 0 || textures <= 0) {
+            throw new IllegalArgumentException("layers and textures must be positive: " + layers + ", " + textures);
+        }
+        this.layers = layers;
+        this.textures = textures;
+        int capacity = Math.max(initialCapacity, 16);
+        bucketStarts = new int[layers * textures + 1];
+        data = new float[capacity * FLOATS_PER_SPRITE];
+        keys = new int[capacity];
+        order = new int[capacity];
+    }
+
+    /**
+     * Queues a sprite; {@code u, v} is the texture coordinate of the bottom left corner and
+     * {@code u2, v2} of the top right one, as for SpriteBatch.
+     */
+    public void sprite(int layer, int texture, float x, float y, float width, float height,
+                       float u, float v, float u2, float v2) {
+        if (layer < 0 || layer >= layers || texture < 0 || texture >= textures) {
+            throw new IllegalArgumentException("No layer " + layer + " or texture " + texture);
+        }
+        if (size == keys.length) {
+            grow();
+        }
+        int offset = size * FLOATS_PER_SPRITE;
+        data[offset] = x;
+        data[offset + 1] = y;
+        data[offset + 2] = width;
+        data[offset + 3] = height;
+        data[offset + 4] = u;
+        data[offset + 5] = v;
+        data[offset + 6] = u2;
+        data[offset + 7] = v2;
+        keys[size++] = layer * textures + texture;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Sprites the queue holds before it has to grow. */
+    int capacity() {
+        return keys.length;
+    }
+
+    /** Hands every queued sprite to {@code backend} in layer and texture order, then empties the queue. */
+    public void submit(RenderBackend backend) {
+        sort();
+        for (int i = 0; i < size; i++) {
+            int sprite = order[i];
+            int offset = sprite * FLOATS_PER_SPRITE;
+            backend.draw(keys[sprite] % textures, data[offset], data[offset + 1], data[offset + 2], data[offset + 3],
+                data[offset + 4], data[offset + 5], data[offset + 6], data[offset + 7]);
+        }
+        clear();
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /** Fills {@code order} with sprite indices by key; a stable counting sort, linear in the sprite count. */
+    private void sort() {
+        Arrays.fill(bucketStarts, 0);
+        for (int i = 0; i < size; i++) {
+            bucketStarts[keys[i] + 1]++;
+        }
+        for (int bucket = 1; bucket < bucketStarts.length; bucket++) {
+            bucketStarts[bucket] += bucketStarts[bucket - 1];
+        }
+        for (int i = 0; i < size; i++) {
+            order[bucketStarts[keys[i]]++] = i;
+        }
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        data = Arrays.copyOf(data, capacity * FLOATS_PER_SPRITE);
+        keys = Arrays.copyOf(keys, capacity);
+        order = Arrays.copyOf(order, capacity);
+    }
+}
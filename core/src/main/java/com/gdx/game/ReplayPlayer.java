@@ -0,0 +1,147 @@
+package com.gdx.game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a replay written by {@link InputRecorder} and hands out the recorded input one tick
+ * at a time.
+ *
+ * <p>Header (big-endian): magic {@code "CGRP"}, version byte, ticks per second (int), seed (long),
+ * world width and height (floats), then the {@link SpawnTable#contentHash()} and
+ * {@link DifficultyParams#contentHash()} of the race (ints). The records that follow are
+ * described in {@link InputRecorder}.
+ * Resizes recorded mid-race are applied to the simulation by {@link #nextBits}, so a race plays
+ * out the same however the window was resized while it was recorded.
+ */
+public class ReplayPlayer {
+
+    private final ByteBuffer data;
+    private final int ticksPerSecond;
+    private final long seed;
+    private final float worldWidth;
+    private final float worldHeight;
+    private final int spawnTableHash;
+    private final int difficultyHash;
+
+    private float nextWorldWidth;
+    private float nextWorldHeight;
+    private int runBits;
+    private int runRemaining;
+    private long tick;
+
+    public ReplayPlayer(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            data = ByteBuffer.allocate((int) channel.size());
+            while (data.hasRemaining() && channel.read(data) >= 0) {
+                // Read until the buffer is full or the file ends
+            }
+            data.flip();
+        }
+
+        if (data.remaining() < 33 || data.getInt() != InputRecorder.MAGIC) {
+            throw new IOException("Not a replay file: " + file);
+        }
+        byte version = data.get();
+        if (version != InputRecorder.VERSION) {
+            throw new IOException("Unsupported replay version " + version + ": " + file);
+        }
+        ticksPerSecond = data.getInt();
+        seed = data.getLong();
+        worldWidth = data.getFloat();
+        worldHeight = data.getFloat();
+        spawnTableHash = data.getInt();
+        difficultyHash = data.getInt();
+        nextWorldWidth = worldWidth;
+        nextWorldHeight = worldHeight;
+    }
+
+    /** Whether there is recorded input left. */
+    public boolean hasNext() {
+        return runRemaining > 0 || data.hasRemaining();
+    }
+
+    /**
+     * Returns the input bits of the next tick, or 0 once the recording has ended. If the world
+     * was resized before that tick, {@code simulation} is resized the same way.
+     */
+    public int nextBits(RaceSimulation simulation) {
+        while (runRemaining == 0) {
+            if (!data.hasRemaining()) return 0;
+            int changedBits = data.get() & 0xFF;
+            if (changedBits == InputRecorder.WORLD_SIZE_RECORD) {
+                nextWorldWidth = data.getFloat();
+                nextWorldHeight = data.getFloat();
+                continue;
+            }
+            runBits ^= changedBits;
+            runRemaining = readVarInt();
+        }
+        if (simulation.getWorldWidth() != nextWorldWidth || simulation.getWorldHeight() != nextWorldHeight) {
+            simulation.setWorldSize(nextWorldWidth, nextWorldHeight);
+        }
+        runRemaining--;
+        tick++;
+        return runBits;
+    }
+
+    private int readVarInt() {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /** Number of ticks handed out so far. */
+    public long getTick() {
+        return tick;
+    }
+
+    public int getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Width at the start of the race. */
+    public float getWorldWidth() {
+        return worldWidth;
+    }
+
+    /** Height at the start of the race. */
+    public float getWorldHeight() {
+        return worldHeight;
+    }
+
+    /**
+     * Returns null if the race was recorded with these waves and this difficulty, otherwise what
+     * differs. A replay only plays out the same under the rules it was recorded with.
+     */
+    public String checkRules(SpawnTable spawnTable, DifficultyParams difficulty) {
+        if (spawnTable.contentHash() != spawnTableHash) {
+            return "the waves have changed since this replay was recorded";
+        }
+        if (difficulty.contentHash() != difficultyHash) {
+            return "the difficulty has changed since this replay was recorded";
+        }
+        return null;
+    }
+
+    /** Creates a simulation set up exactly like the recorded one. */
+    public RaceSimulation createSimulation(SpawnTable spawnTable) {
+        RaceSimulation simulation = new RaceSimulation(worldWidth, worldHeight, ticksPerSecond,
+            DifficultyParams.DEFAULT, spawnTable);
+        simulation.reset(seed);
+        return simulation;
+    }
+}
@@ -0,0 +1,57 @@
+package com.gdx.game;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Plays a replay file through {@link RaceSimulation} without a window, as fast as the CPU
+ * allows. Handy for bisecting a bug report: stop at a tick and look at the state there.
+ *
+ * <pre>
+ * ReplayRunner &lt;replay file&gt; [stop at tick] [print every n ticks]
+ * </pre>
+ */
+public class ReplayRunner {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayRunner <replay file> [stop at tick] [print every n ticks]");
+            System.exit(2);
+        }
+        Path file = Paths.get(args[0]);
+        long stopAt = args.length > 1 ? Long.parseLong(args[1]) : Long.MAX_VALUE;
+        long printEvery = args.length > 2 ? Long.parseLong(args[2]) : 0;
+
+        ReplayPlayer replay = new ReplayPlayer(file);
+        SpawnTable spawnTable = SpawnTable.loadIfExists(Paths.get("assets", SpawnTable.ASSET));
+        String mismatch = replay.checkRules(spawnTable, DifficultyParams.DEFAULT);
+        if (mismatch != null) {
+            System.err.println("Warning: " + mismatch + "; it will not play out as recorded");
+        }
+        RaceSimulation simulation = replay.createSimulation(spawnTable);
+        InputState input = new InputState();
+
+        long start = System.nanoTime();
+        while (replay.hasNext() && replay.getTick() < stopAt && !simulation.isGameOver()) {
+            input.setBits(replay.nextBits(simulation));
+            simulation.tick(input);
+            if (printEvery > 0 && replay.getTick() % printEvery == 0) {
+                printState(replay.getTick(), simulation);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        printState(replay.getTick(), simulation);
+        System.out.printf("seed=%d tickRate=%d world=%.0fx%.0f%n", replay.getSeed(), replay.getTicksPerSecond(),
+            replay.getWorldWidth(), replay.getWorldHeight());
+        System.out.printf("%d ticks in %.1f ms (%.0f ticks/s, %.0fx real time)%n", replay.getTick(), elapsed / 1e6,
+            replay.getTick() / (elapsed / 1e9), replay.getTick() / (double) replay.getTicksPerSecond() / (elapsed / 1e9));
+    }
+
+    private static void printState(long tick, RaceSimulation simulation) {
+        System.out.printf("tick=%d car=(%.1f, %.1f) enemies=%d missiles=%d score=%d paused=%b gameOver=%b%n",
+            tick, simulation.getCarX(), simulation.getCarY(), simulation.getEnemies().size(),
+            simulation.getMissiles().size(), simulation.getScore(), simulation.isPaused(), simulation.isGameOver());
+    }
+}
@@ -0,0 +1,125 @@
+package com.gdx.game;
+
+/**
+ * Vertices and indices of the road for one playfield size: the asphalt, the lane dashes and the
+ * red and white kerbs. The dashes and kerbs repeat every {@link #PATTERN_PERIOD} pixels and are
+ * laid out one period beyond the top of the screen, so shifting them down by any offset in
+ * {@code [0, PATTERN_PERIOD)} still covers the playfield; that shift is all that changes while
+ * the road scrolls. Plain Java, so it can be built and checked without a GL context.
+ *
+ * <p>Each vertex is {@link #FLOATS_PER_VERTEX} floats: x, y, a packed ABGR color and a scroll
+ * factor that is 1 for the moving markings and 0 for the asphalt.
+ */
+public class RoadGeometry {
+
+    public static final int FLOATS_PER_VERTEX = 4;
+    public static final float PATTERN_PERIOD = RaceSimulation.LANE_LINE_HEIGHT * 2;
+
+    private static final float ASPHALT = packColor(0.2f, 0.2f, 0.2f, 1);
+    private static final float WHITE = packColor(1, 1, 1, 1);
+    private static final float RED = packColor(1, 0, 0, 1);
+
+    private float[] vertices = new float[0];
+    private short[] indices = new short[0];
+    private int quadCount;
+    private float width;
+    private float height;
+
+    /** Lays the road out for a playfield of the given size, reusing the arrays when they fit. */
+    public void build(float width, float height) {
+        this.width = width;
+        this.height = height;
+        int rows = rowCount(height);
+        int quads = 1 + rows * 5;
+        if (quads * 4 > 0xFFFF) {
+            throw new IllegalArgumentException("Playfield too tall for 16-bit indices: " + height);
+        }
+        if (vertices.length < quads * 4 * FLOATS_PER_VERTEX) {
+            vertices = new float[quads * 4 * FLOATS_PER_VERTEX];
+            indices = new short[quads * 6];
+        }
+        quadCount = 0;
+
+        float edge = RaceSimulation.GRASS_WIDTH + RaceSimulation.BORDER_WIDTH;
+        quad(edge, 0, width - 2 * edge, height, ASPHALT, 0);
+
+        float laneX = width / 2f - RaceSimulation.LANE_LINE_WIDTH / 2f;
+        float rightKerbX = width - RaceSimulation.GRASS_WIDTH - RaceSimulation.BORDER_WIDTH;
+        float segment = RaceSimulation.LANE_LINE_HEIGHT;
+        for (int row = 0; row < rows; row++) {
+            float y = row * PATTERN_PERIOD;
+            quad(laneX, y, RaceSimulation.LANE_LINE_WIDTH, segment, WHITE, 1);
+            quad(RaceSimulation.GRASS_WIDTH, y, RaceSimulation.BORDER_WIDTH, segment, RED, 1);
+            quad(RaceSimulation.GRASS_WIDTH, y + segment, RaceSimulation.BORDER_WIDTH, segment, WHITE, 1);
+            quad(rightKerbX, y, RaceSimulation.BORDER_WIDTH, segment, RED, 1);
+            quad(rightKerbX, y + segment, RaceSimulation.BORDER_WIDTH, segment, WHITE, 1);
+        }
+    }
+
+    /** Rows of markings needed so that any offset below one period still reaches the top. */
+    static int rowCount(float height) {
+        return (int) Math.ceil(height / PATTERN_PERIOD) + 1;
+    }
+
+    /** Offset to shift the markings by once the road has scrolled {@code distance} pixels. */
+    public static float patternOffset(double distance) {
+        double offset = distance % PATTERN_PERIOD;
+        return (float) (offset < 0 ? offset + PATTERN_PERIOD : offset);
+    }
+
+    private void quad(float x, float y, float w, float h, float color, float scroll) {
+        int vertex = quadCount * 4;
+        int v = vertex * FLOATS_PER_VERTEX;
+        v = vertex(v, x, y, color, scroll);
+        v = vertex(v, x + w, y, color, scroll);
+        v = vertex(v, x + w, y + h, color, scroll);
+        vertex(v, x, y + h, color, scroll);
+
+        int i = quadCount * 6;
+        indices[i] = (short) vertex;
+        indices[i + 1] = (short) (vertex + 1);
+        indices[i + 2] = (short) (vertex + 2);
+        indices[i + 3] = (short) (vertex + 2);
+        indices[i + 4] = (short) (vertex + 3);
+        indices[i + 5] = (short) vertex;
+        quadCount++;
+    }
+
+    private int vertex(int v, float x, float y, float color, float scroll) {
+        vertices[v] = x;
+        vertices[v + 1] = y;
+        vertices[v + 2] = color;
+        vertices[v + 3] = scroll;
+        return v + FLOATS_PER_VERTEX;
+    }
+
+    /** Packs a color the way libGDX's {@code Color.toFloatBits()} does, for a ColorPacked attribute. */
+    static float packColor(float r, float g, float b, float a) {
+        int abgr = ((int) (255 * a) << 24) | ((int) (255 * b) << 16) | ((int) (255 * g) << 8) | (int) (255 * r);
+        return Float.intBitsToFloat(abgr & 0xfeffffff);
+    }
+
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    public short[] getIndices() {
+        return indices;
+    }
+
+    public int getVertexFloatCount() {
+        return quadCount * 4 * FLOATS_PER_VERTEX;
+    }
+
+    public int getIndexCount() {
+        return quadCount * 6;
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public float getHeight() {
+        return height;
+    }
+}
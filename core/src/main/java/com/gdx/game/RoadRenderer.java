@@ -0,0 +1,72 @@
+package com.gdx.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Draws the road from a static {@link Mesh} built by {@link RoadGeometry}. The mesh is only
+ * rebuilt when the playfield size changes; scrolling is a single shader uniform, so drawing the
+ * road costs the same on the CPU however tall the window is.
+ */
+public class RoadRenderer implements Disposable {
+
+    private static final String VERTEX_SHADER = "shaders/road.vert";
+    private static final String FRAGMENT_SHADER = "shaders/road.frag";
+
+    private final RoadGeometry geometry = new RoadGeometry();
+    private final ShaderProgram shader;
+    private Mesh mesh;
+
+    public RoadRenderer() {
+        shader = new ShaderProgram(Gdx.files.internal(VERTEX_SHADER), Gdx.files.internal(FRAGMENT_SHADER));
+        if (!shader.isCompiled()) {
+            throw new GdxRuntimeException("Could not compile the road shader: " + shader.getLog());
+        }
+    }
+
+    /**
+     * Draws the road for a playfield of the given size, after it has scrolled {@code scrollDistance}
+     * pixels in total.
+     */
+    public void render(Matrix4 projection, float width, float height, double scrollDistance) {
+        if (mesh == null || width != geometry.getWidth() || height != geometry.getHeight()) {
+            rebuild(width, height);
+        }
+
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", projection);
+        shader.setUniformf("u_offset", RoadGeometry.patternOffset(scrollDistance));
+        mesh.render(shader, GL20.GL_TRIANGLES, 0, geometry.getIndexCount());
+    }
+
+    private void rebuild(float width, float height) {
+        geometry.build(width, height);
+        int vertexCount = geometry.getVertexFloatCount() / RoadGeometry.FLOATS_PER_VERTEX;
+        if (mesh == null || mesh.getMaxVertices() < vertexCount || mesh.getMaxIndices() < geometry.getIndexCount()) {
+            if (mesh != null) {
+                mesh.dispose();
+            }
+            mesh = new Mesh(true, vertexCount, geometry.getIndexCount(),
+                new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                VertexAttribute.ColorPacked(),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 1, "a_scroll"));
+        }
+        mesh.setVertices(geometry.getVertices(), 0, geometry.getVertexFloatCount());
+        mesh.setIndices(geometry.getIndices(), 0, geometry.getIndexCount());
+    }
+
+    @Override
+    public void dispose() {
+        shader.dispose();
+        if (mesh != null) {
+            mesh.dispose();
+        }
+    }
+}
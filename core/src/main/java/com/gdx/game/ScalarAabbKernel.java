@@ -0,0 +1,29 @@
+package com.gdx.game;
+
+/** {@link AabbKernel} comparing one box at a time; the reference the vector kernel must match. */
+public final class ScalarAabbKernel implements AabbKernel {
+
+    static final ScalarAabbKernel INSTANCE = new ScalarAabbKernel();
+
+    private ScalarAabbKernel() {
+    }
+
+    @Override
+    public int overlaps(float minX, float minY, float maxX, float maxY,
+                        float[] boxMinX, float[] boxMinY, float[] boxMaxX, float[] boxMaxY,
+                        int from, int to, int[] hits) {
+        return overlapsScalar(minX, minY, maxX, maxY, boxMinX, boxMinY, boxMaxX, boxMaxY, from, to, hits, 0);
+    }
+
+    /** Appends the hits among {@code from..to-1} to {@code hits} after the first {@code count}; returns the new count. */
+    static int overlapsScalar(float minX, float minY, float maxX, float maxY,
+                              float[] boxMinX, float[] boxMinY, float[] boxMaxX, float[] boxMaxY,
+                              int from, int to, int[] hits, int count) {
+        for (int i = from; i < to; i++) {
+            if (minX < boxMaxX[i] && maxX > boxMinX[i] && minY < boxMaxY[i] && maxY > boxMinY[i]) {
+                hits[count++] = i;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,65 @@
+package com.gdx.game;
+
+/**
+ * A simple, deterministic player for headless races: it shoots at enemies in its column and
+ * steers away from the nearest one it cannot hit in time. It reacts only to what is on the
+ * road, so a given seed and difficulty always produce the same race.
+ */
+public class ScriptedBot {
+
+    // Ticks between shots; fire is a key press, so it cannot be held down
+    private static final int FIRE_INTERVAL_TICKS = 12;
+    // Enemies closer than this are dodged rather than shot
+    private static final float DODGE_DISTANCE = 260;
+    private static final float SAFE_MARGIN = 10;
+
+    private final InputState input = new InputState();
+
+    /** Returns the input for the next tick of {@code simulation}. */
+    public InputState decide(RaceSimulation simulation) {
+        input.clear();
+
+        float carX = simulation.getCarX();
+        float carY = simulation.getCarY();
+        float carCenter = carX + RaceSimulation.CAR_WIDTH / 2f;
+        EntityStore enemies = simulation.getEnemies();
+
+        // Find the closest enemy ahead of the car that is in its column
+        int threat = -1;
+        float threatDistance = Float.MAX_VALUE;
+        for (int i = 0; i < enemies.size(); i++) {
+            float left = enemies.getX(i) - SAFE_MARGIN;
+            float right = enemies.getX(i) + enemies.getWidth(i) + SAFE_MARGIN;
+            float distance = enemies.getY(i) - (carY + RaceSimulation.CAR_HEIGHT);
+            if (right > carX && left < carX + RaceSimulation.CAR_WIDTH && distance > -RaceSimulation.CAR_HEIGHT
+                && distance < threatDistance) {
+                threat = i;
+                threatDistance = distance;
+            }
+        }
+
+        if (threat >= 0) {
+            float enemyCenter = enemies.getX(threat) + enemies.getWidth(threat) / 2f;
+            if (threatDistance < DODGE_DISTANCE) {
+                // Too close to shoot down: move to the side with more room
+                float roadLeft = RaceSimulation.GRASS_WIDTH + RaceSimulation.BORDER_WIDTH;
+                float roadRight = simulation.getWorldWidth() - roadLeft;
+                boolean goLeft = enemyCenter - roadLeft > roadRight - enemyCenter;
+                input.set(goLeft ? InputState.LEFT : InputState.RIGHT, true);
+            } else if (Math.abs(enemyCenter - carCenter) < enemies.getWidth(threat) / 2f) {
+                // Lined up: stay put and shoot
+                if (simulation.getTick() % FIRE_INTERVAL_TICKS == 0) {
+                    input.press(InputState.FIRE);
+                }
+            } else {
+                input.set(enemyCenter < carCenter ? InputState.LEFT : InputState.RIGHT, true);
+            }
+        }
+
+        // Keep near the bottom of the screen for the most reaction time
+        if (carY > 100) {
+            input.set(InputState.DOWN, true);
+        }
+        return input;
+    }
+}
@@ -0,0 +1,127 @@
+package com.gdx.game;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a {@link RaceSimulation} on its own thread at its fixed tick rate, so that a slow frame or
+ * a vsync wait on the render thread does not hold up the game, and the other way round.
+ *
+ * <p>The render thread sends input through an {@link InputQueue} and reads the race from
+ * {@link RaceSnapshot}s passed back through a {@link TripleBuffer}; neither side takes a lock.
+ * While the thread runs, only it may touch the simulation; stop it before resetting the race.
+ */
+public class SimulationThread {
+
+    /** Called on the simulation thread before every tick, for example to record or replace the input. */
+    public interface TickHook {
+        void beforeTick(InputState input);
+    }
+
+    // After a longer stall the missed ticks are dropped rather than run all at once
+    private static final long MAX_LAG_NANOS = 250_000_000L;
+    private static final long NO_WORLD_SIZE = Long.MIN_VALUE;
+
+    private final RaceSimulation simulation;
+    private final TickHook hook;
+    private final FrameProfiler profiler;
+    private final long tickNanos;
+    private final InputQueue inputQueue = new InputQueue(64);
+    private final TripleBuffer<RaceSnapshot> snapshots = new TripleBuffer<>(RaceSnapshot::new);
+    private final InputState input = new InputState();
+    // Both floats packed into one long so a resize is picked up atomically
+    private final AtomicLong pendingWorldSize = new AtomicLong(NO_WORLD_SIZE);
+    private final Thread thread;
+    private volatile boolean running;
+
+    public SimulationThread(RaceSimulation simulation, TickHook hook, FrameProfiler profiler) {
+        this.simulation = simulation;
+        this.hook = hook;
+        this.profiler = profiler;
+        this.tickNanos = 1_000_000_000L / simulation.getTicksPerSecond();
+        publish(); // So the render thread has a snapshot before the first tick
+        thread = new Thread(this::run, "simulation");
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    /** Stops the thread and waits for it, after which the simulation may be used directly again. */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Sends the input of one frame from the render thread; false if the simulation is falling behind. */
+    public boolean offerInput(int bits) {
+        return inputQueue.offer(bits);
+    }
+
+    /** Changes the playfield size before the next tick. */
+    public void setWorldSize(float width, float height) {
+        pendingWorldSize.set((long) Float.floatToIntBits(width) << 32 | (Float.floatToIntBits(height) & 0xFFFFFFFFL));
+    }
+
+    /** The latest snapshot, for the render thread; valid until the next call. */
+    public RaceSnapshot acquireSnapshot() {
+        return snapshots.acquire();
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    private void run() {
+        long nextTick = System.nanoTime() + tickNanos;
+        while (running) {
+            long now = System.nanoTime();
+            if (now < nextTick) {
+                LockSupport.parkNanos(nextTick - now);
+                continue;
+            }
+            if (now - nextTick > MAX_LAG_NANOS) {
+                nextTick = now;
+            }
+
+            applyWorldSize();
+            drainInput();
+            if (!simulation.isGameOver()) {
+                long start = profiler.start();
+                hook.beforeTick(input);
+                simulation.tick(input);
+                input.clearPresses();
+                profiler.lap(FrameProfiler.SIMULATION, start);
+                publish();
+            }
+            nextTick += tickNanos;
+        }
+    }
+
+    /** Keys held in the newest frame, plus every key press since the last tick. */
+    private void drainInput() {
+        int bits;
+        while ((bits = inputQueue.poll()) != InputQueue.EMPTY) {
+            input.setBits(bits | (input.getBits() & InputState.PRESSES));
+        }
+    }
+
+    private void applyWorldSize() {
+        long size = pendingWorldSize.getAndSet(NO_WORLD_SIZE);
+        if (size != NO_WORLD_SIZE) {
+            simulation.setWorldSize(Float.intBitsToFloat((int) (size >>> 32)), Float.intBitsToFloat((int) size));
+        }
+    }
+
+    private void publish() {
+        snapshots.getWriteBuffer().copyFrom(simulation, System.nanoTime());
+        snapshots.publish();
+    }
+}
@@ -0,0 +1,88 @@
+package com.gdx.game;
+
+import java.util.Arrays;
+
+/**
+ * The waves of a {@link SpawnTable} laid out in advance as one sorted timeline of spawns, each
+ * packed into a long as its tick and pattern. A race walks the timeline with a cursor, so finding
+ * this tick's spawns costs the same however many waves overlap. Once the last wave has ended the
+ * timeline starts over from the table's loop time.
+ */
+public class SpawnScheduler {
+
+    private static final int PATTERN_BITS = 16;
+    private static final long PATTERN_MASK = (1L << PATTERN_BITS) - 1;
+
+    private final long[] timeline;
+    private final long endTick;
+    private final long loopTick;
+    private final int loopCursor; // First spawn at or after loopTick
+    private int cursor;
+    private long cycleStart; // Race tick at which the current pass over the timeline started
+
+    /**
+     * @param density multiplies the spawn rate of every wave
+     */
+    public SpawnScheduler(SpawnTable table, int ticksPerSecond, float density) {
+        if (density <= 0) {
+            throw new IllegalArgumentException("density must be positive: " + density);
+        }
+        if (table.getPatternCount() > PATTERN_MASK + 1) {
+            throw new IllegalArgumentException("Too many patterns: " + table.getPatternCount());
+        }
+
+        long[] spawns = new long[64];
+        int count = 0;
+        float endSeconds = 0;
+        for (SpawnTable.Wave wave : table.getWaves()) {
+            float length = wave.toSeconds - wave.fromSeconds;
+            for (float t = wave.fromSeconds; t < wave.toSeconds; ) {
+                if (count == spawns.length) {
+                    spawns = Arrays.copyOf(spawns, count * 2);
+                }
+                long tick = Math.round((double) t * ticksPerSecond);
+                spawns[count++] = tick << PATTERN_BITS | wave.pattern;
+                float progress = (t - wave.fromSeconds) / length;
+                t += (wave.startInterval + (wave.endInterval - wave.startInterval) * progress) / density;
+            }
+            endSeconds = Math.max(endSeconds, wave.toSeconds);
+        }
+        timeline = Arrays.copyOf(spawns, count);
+        Arrays.sort(timeline); // By tick, then pattern
+
+        // A spawn just before the end can round onto the end tick; stretch the pass to keep it
+        long lastTick = count > 0 ? timeline[count - 1] >>> PATTERN_BITS : 0;
+        endTick = Math.max(lastTick + 1, Math.round((double) endSeconds * ticksPerSecond));
+        loopTick = Math.min(Math.round((double) table.getLoopSeconds() * ticksPerSecond), endTick - 1);
+        int index = Arrays.binarySearch(timeline, loopTick << PATTERN_BITS);
+        loopCursor = index >= 0 ? index : -index - 1;
+    }
+
+    public void reset() {
+        cursor = 0;
+        cycleStart = 0;
+    }
+
+    /**
+     * Returns the pattern of the next spawn due at {@code tick}, or -1 once there are no more.
+     * Call it until it returns -1 on every tick, with ticks counting up from 0 since the reset.
+     */
+    public int poll(long tick) {
+        long local = tick - cycleStart;
+        if (local >= endTick) {
+            // Every wave has ended; go round again from the loop time
+            cycleStart += endTick - loopTick;
+            cursor = loopCursor;
+            local = tick - cycleStart;
+        }
+        if (cursor < timeline.length && timeline[cursor] >>> PATTERN_BITS <= local) {
+            return (int) (timeline[cursor++] & PATTERN_MASK);
+        }
+        return -1;
+    }
+
+    /** Number of spawns in one pass over the timeline. */
+    public int getTimelineLength() {
+        return timeline.length;
+    }
+}
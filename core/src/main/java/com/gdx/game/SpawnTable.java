@@ -0,0 +1,264 @@
+package com.gdx.game;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The enemy waves of a race, as read from {@link #ASSET} (see that file for the format): the
+ * lanes the road is split into, formations of enemies, and waves that repeat a formation over a
+ * stretch of the race with a spawn interval that changes linearly from start to end.
+ * {@link SpawnScheduler} turns it into a timeline of spawns.
+ */
+public class SpawnTable {
+
+    /** The shipped table, in the assets directory. */
+    public static final String ASSET = "waves.txt";
+
+    /** A texture id in a formation that is picked at random for every spawn. */
+    public static final int RANDOM_TEXTURE = -1;
+
+    /** Used when no table can be read: single cars in random lanes, about one a second. */
+    public static final SpawnTable DEFAULT = parse("lanes 4\npattern single\n0 0\nwave single 0 60 1 1\n");
+
+    private final int lanes;
+    private final List<Pattern> patterns;
+    private final List<Wave> waves;
+    private final float loopSeconds;
+
+    private SpawnTable(int lanes, List<Pattern> patterns, List<Wave> waves, float loopSeconds) {
+        this.lanes = lanes;
+        this.patterns = patterns;
+        this.waves = waves;
+        this.loopSeconds = loopSeconds;
+    }
+
+    public static SpawnTable load(Path file) throws IOException {
+        return parse(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    /** Reads {@code file}, or returns {@link #DEFAULT} if there is no such file; for tools run from the project root. */
+    public static SpawnTable loadIfExists(Path file) throws IOException {
+        return Files.exists(file) ? load(file) : DEFAULT;
+    }
+
+    /** Reads a table; throws IllegalArgumentException naming the line of the first mistake. */
+    public static SpawnTable parse(String text) {
+        int lanes = 0;
+        float loopSeconds = 0;
+        List<Pattern> patterns = new ArrayList<>();
+        Map<String, Integer> patternIndices = new HashMap<>();
+        List<Wave> waves = new ArrayList<>();
+        Pattern pattern = null; // The one whose members are being read
+
+        String[] lines = text.split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            line = line.trim();
+            if (line.isEmpty()) continue;
+
+            String[] fields = line.split("\\s+");
+            try {
+                switch (fields[0]) {
+                    case "lanes":
+                        expectFields(fields, 2);
+                        lanes = Integer.parseInt(fields[1]);
+                        if (lanes <= 0) throw new IllegalArgumentException("lanes must be positive");
+                        pattern = null;
+                        break;
+                    case "pattern":
+                        expectFields(fields, 2);
+                        if (patternIndices.containsKey(fields[1])) {
+                            throw new IllegalArgumentException("pattern " + fields[1] + " is defined twice");
+                        }
+                        pattern = new Pattern(fields[1]);
+                        patternIndices.put(pattern.name, patterns.size());
+                        patterns.add(pattern);
+                        break;
+                    case "wave":
+                        expectFields(fields, 6);
+                        Integer index = patternIndices.get(fields[1]);
+                        if (index == null) throw new IllegalArgumentException("unknown pattern " + fields[1]);
+                        waves.add(new Wave(index, Float.parseFloat(fields[2]), Float.parseFloat(fields[3]),
+                            Float.parseFloat(fields[4]), Float.parseFloat(fields[5])));
+                        pattern = null;
+                        break;
+                    case "loop":
+                        expectFields(fields, 2);
+                        loopSeconds = Float.parseFloat(fields[1]);
+                        if (loopSeconds < 0) throw new IllegalArgumentException("loop must not be negative");
+                        pattern = null;
+                        break;
+                    default:
+                        if (pattern == null) throw new IllegalArgumentException("unknown keyword " + fields[0]);
+                        if (fields.length != 2 && fields.length != 3) {
+                            throw new IllegalArgumentException("expected <lane> <row> [yellow|blue]");
+                        }
+                        pattern.add(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]),
+                            fields.length == 3 ? texture(fields[2]) : RANDOM_TEXTURE);
+                }
+            } catch (IllegalArgumentException e) { // Includes NumberFormatException
+                throw new IllegalArgumentException(ASSET + " line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+
+        if (lanes == 0) throw new IllegalArgumentException(ASSET + ": no lanes line");
+        for (Pattern p : patterns) {
+            if (p.size() == 0) throw new IllegalArgumentException(ASSET + ": pattern " + p.name + " has no enemies");
+            if (p.getWidth() > lanes) {
+                throw new IllegalArgumentException(ASSET + ": pattern " + p.name + " is wider than " + lanes + " lanes");
+            }
+        }
+        return new SpawnTable(lanes, patterns, waves, loopSeconds);
+    }
+
+    private static void expectFields(String[] fields, int count) {
+        if (fields.length != count) {
+            throw new IllegalArgumentException(fields[0] + " takes " + (count - 1) + " values");
+        }
+    }
+
+    private static int texture(String name) {
+        switch (name) {
+            case "yellow":
+                return RaceSimulation.TEXTURE_YELLOW_ENEMY;
+            case "blue":
+                return RaceSimulation.TEXTURE_BLUE_ENEMY;
+            default:
+                throw new IllegalArgumentException("unknown color " + name);
+        }
+    }
+
+    public int getLanes() {
+        return lanes;
+    }
+
+    public int getPatternCount() {
+        return patterns.size();
+    }
+
+    public Pattern getPattern(int index) {
+        return patterns.get(index);
+    }
+
+    public List<Wave> getWaves() {
+        return waves;
+    }
+
+    /** Second of the race the timeline goes back to once every wave has ended. */
+    public float getLoopSeconds() {
+        return loopSeconds;
+    }
+
+    /**
+     * A hash of everything that decides the spawns, the same in every run; comments, layout and
+     * pattern names do not count. Replays store it to notice when the table changed.
+     */
+    public int contentHash() {
+        int hash = 31 * lanes + Float.hashCode(loopSeconds);
+        for (Pattern pattern : patterns) {
+            hash = 31 * hash + pattern.size;
+            for (int i = 0; i < pattern.size; i++) {
+                hash = 31 * hash + pattern.lanes[i];
+                hash = 31 * hash + pattern.rows[i];
+                hash = 31 * hash + pattern.textures[i];
+            }
+        }
+        for (Wave wave : waves) {
+            hash = 31 * hash + wave.pattern;
+            hash = 31 * hash + Float.hashCode(wave.fromSeconds);
+            hash = 31 * hash + Float.hashCode(wave.toSeconds);
+            hash = 31 * hash + Float.hashCode(wave.startInterval);
+            hash = 31 * hash + Float.hashCode(wave.endInterval);
+        }
+        return hash;
+    }
+
+    /** A formation: enemies at lane and row offsets from its bottom left corner. */
+    public static class Pattern {
+        private final String name;
+        private int[] lanes = new int[4];
+        private int[] rows = new int[4];
+        private int[] textures = new int[4];
+        private int size;
+        private int width;
+
+        Pattern(String name) {
+            this.name = name;
+        }
+
+        void add(int lane, int row, int texture) {
+            if (lane < 0 || row < 0) throw new IllegalArgumentException("lane and row must not be negative");
+            if (size == lanes.length) {
+                lanes = Arrays.copyOf(lanes, size * 2);
+                rows = Arrays.copyOf(rows, size * 2);
+                textures = Arrays.copyOf(textures, size * 2);
+            }
+            lanes[size] = lane;
+            rows[size] = row;
+            textures[size] = texture;
+            size++;
+            width = Math.max(width, lane + 1);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /** Lanes from the leftmost enemy to the rightmost one. */
+        public int getWidth() {
+            return width;
+        }
+
+        public int getLane(int index) {
+            return lanes[index];
+        }
+
+        public int getRow(int index) {
+            return rows[index];
+        }
+
+        /** A RaceSimulation.TEXTURE_* id, or {@link #RANDOM_TEXTURE}. */
+        public int getTexture(int index) {
+            return textures[index];
+        }
+    }
+
+    /** One pattern spawned again and again between two times of the race. */
+    public static class Wave {
+        public final int pattern;
+        public final float fromSeconds;
+        public final float toSeconds;
+        /** Seconds between spawns at {@link #fromSeconds}; the interval changes linearly up to {@link #endInterval}. */
+        public final float startInterval;
+        public final float endInterval;
+
+        Wave(int pattern, float fromSeconds, float toSeconds, float startInterval, float endInterval) {
+            if (toSeconds <= fromSeconds || fromSeconds < 0) {
+                throw new IllegalArgumentException("a wave must end after it starts, at or after 0");
+            }
+            if (startInterval <= 0 || endInterval <= 0) {
+                throw new IllegalArgumentException("spawn intervals must be positive");
+            }
+            this.pattern = pattern;
+            this.fromSeconds = fromSeconds;
+            this.toSeconds = toSeconds;
+            this.startInterval = startInterval;
+            this.endInterval = endInterval;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.gdx.game;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import java.util.Arrays;
+
+/**
+ * Draws a {@link RenderQueue} with a {@link Batch}. Textures are given ids with {@link #register}
+ * before anything is queued; the batch must be drawing when the queue is submitted.
+ */
+public class SpriteBatchBackend implements RenderBackend {
+
+    private final Batch batch;
+    private Texture[] textures = new Texture[4];
+    private int textureCount;
+
+    public SpriteBatchBackend(Batch batch) {
+        this.batch = batch;
+    }
+
+    /** Returns the id of {@code texture}, giving it the next free one the first time. */
+    public int register(Texture texture) {
+        for (int i = 0; i < textureCount; i++) {
+            if (textures[i] == texture) return i;
+        }
+        if (textureCount == textures.length) {
+            textures = Arrays.copyOf(textures, textureCount * 2);
+        }
+        textures[textureCount] = texture;
+        return textureCount++;
+    }
+
+    /** Number of ids handed out so far; the texture count to give a RenderQueue. */
+    public int getTextureCount() {
+        return textureCount;
+    }
+
+    /** Queues a whole region, like {@link Batch#draw(TextureRegion, float, float, float, float)}. */
+    public void queue(RenderQueue queue, int layer, int texture, TextureRegion region,
+                      float x, float y, float width, float height) {
+        // A region's v is its top edge, the batch wants the bottom one first
+        queue.sprite(layer, texture, x, y, width, height, region.getU(), region.getV2(), region.getU2(), region.getV());
+    }
+
+    @Override
+    public void draw(int texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+        batch.draw(textures[texture], x, y, width, height, u, v, u2, v2);
+    }
+}
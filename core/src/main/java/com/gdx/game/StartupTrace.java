@@ -0,0 +1,67 @@
+package com.gdx.game;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Milestones of a cold start, as milliseconds since the process started, printed in one line
+ * once the first frame is on screen:
+ * <pre>
+ * startup: main=180ms application=190ms create=610ms show=790ms frame=870ms
+ * </pre>
+ * Only records anything with {@code -Dcargame.startupTrace=true}, or {@code =exit} to also quit
+ * right after, for scripted runs such as the CDS training run and the startup benchmark.
+ */
+public final class StartupTrace {
+
+    public static final String MAIN = "main";
+    public static final String APPLICATION = "application";
+    public static final String CREATE = "create";
+    public static final String SHOW = "show";
+    public static final String FRAME = "frame";
+
+    private static final boolean ENABLED = GameOptions.STARTUP_TRACE != null && !"false".equals(GameOptions.STARTUP_TRACE);
+    private static final Map<String, Long> marks = new LinkedHashMap<>();
+
+    private StartupTrace() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /** Whether the game should quit as soon as the trace is complete. */
+    public static boolean exitsWhenDone() {
+        return "exit".equals(GameOptions.STARTUP_TRACE);
+    }
+
+    /** Records when {@code milestone} was first reached; later calls for it are ignored. */
+    public static synchronized void mark(String milestone) {
+        if (ENABLED) {
+            marks.putIfAbsent(milestone, System.currentTimeMillis());
+        }
+    }
+
+    public static synchronized boolean isMarked(String milestone) {
+        return marks.containsKey(milestone);
+    }
+
+    /** The milestones reached so far, in the order they were reached. */
+    public static synchronized String report() {
+        long processStart = processStartMillis();
+        StringBuilder line = new StringBuilder("startup:");
+        for (Map.Entry<String, Long> mark : marks.entrySet()) {
+            line.append(' ').append(mark.getKey()).append('=').append(mark.getValue() - processStart).append("ms");
+        }
+        return line.toString();
+    }
+
+    private static long processStartMillis() {
+        // The OS start time includes JVM boot; the JVM's own start time is the fallback
+        return ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElseGet(() -> ManagementFactory.getRuntimeMXBean().getStartTime());
+    }
+}
@@ -0,0 +1,49 @@
+package com.gdx.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands the latest of a stream of values from one writer thread to one reader thread without
+ * locks or allocation. There are three buffers: the writer fills one, the reader reads another,
+ * and the third holds the most recently published one. Publishing and picking up are single
+ * atomic swaps, so neither side ever waits for the other; the reader may skip values but always
+ * gets the newest complete one.
+ */
+public class TripleBuffer<T> {
+
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    private final Object[] buffers = new Object[3];
+    // Index of the buffer between the two threads, plus FRESH if the reader has not taken it yet
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int writeIndex = 0; // Writer thread only
+    private int readIndex = 2; // Reader thread only
+
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = factory.get();
+        }
+    }
+
+    /** The buffer the writer may fill. */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) buffers[writeIndex];
+    }
+
+    /** Makes the write buffer the latest value and gives the writer a free one. */
+    public void publish() {
+        writeIndex = middle.getAndSet(writeIndex | FRESH) & INDEX_MASK;
+    }
+
+    /** The newest published value; the reader may use it until the next call. */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            readIndex = middle.getAndSet(readIndex) & INDEX_MASK;
+        }
+        return (T) buffers[readIndex];
+    }
+}
@@ -0,0 +1,184 @@
+package com.gdx.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AabbKernelTest {
+
+    // Every run length up to 33 and a few past 64, so that whatever the lane count (4, 8 or 16),
+    // runs of exactly one vector, one lane short of it and one lane over it are all covered
+    private static final int[] LENGTHS = lengths();
+    private static final int[] OFFSETS = {0, 1, 3, 7, 17};
+
+    @Test
+    void scalarSkipsTouchingAndEmptyBoxes() {
+        float[] minX = {0, 10, 5, 5, 5, Float.NaN};
+        float[] minY = {0, 0, 10, 5, 4, 0};
+        float[] maxX = {10, 20, 15, 5, 6, 20};
+        float[] maxY = {10, 10, 20, 5, 6, 20};
+        int[] hits = new int[minX.length];
+
+        // Query [5, 10] x [5, 10]: box 0 overlaps, 1 and 2 only touch its edges, 3 has no area,
+        // 4 overlaps and 5 has a NaN edge
+        int count = AabbKernel.scalar().overlaps(5, 5, 10, 10, minX, minY, maxX, maxY, 0, minX.length, hits);
+
+        assertEquals(2, count);
+        assertEquals(0, hits[0]);
+        assertEquals(4, hits[1]);
+    }
+
+    @Test
+    void selectFallsBackToScalar() {
+        assertSame(AabbKernel.scalar(), AabbKernel.select(false));
+        assertNotNull(AabbKernel.select(true));
+    }
+
+    @Test
+    void vectorMatchesScalarOnRandomBoxes() {
+        AabbKernel vector = vectorKernel();
+        Random random = new Random(42);
+        for (int length : LENGTHS) {
+            for (int from : OFFSETS) {
+                for (int trial = 0; trial < 20; trial++) {
+                    Boxes boxes = Boxes.random(from + length, random);
+                    float minX = random.nextInt(50);
+                    float minY = random.nextInt(50);
+                    assertSameHits(vector, boxes, minX, minY, minX + random.nextInt(20), minY + random.nextInt(20),
+                        from, from + length);
+                }
+            }
+        }
+    }
+
+    @Test
+    void vectorMatchesScalarOnTouchingEdges() {
+        AabbKernel vector = vectorKernel();
+        for (int length : LENGTHS) {
+            for (int from : OFFSETS) {
+                // A grid of boxes snapped to whole numbers, so that many share an edge or a corner with the query
+                Boxes boxes = new Boxes(from + length);
+                for (int i = 0; i < from + length; i++) {
+                    boxes.set(i, i % 7, i / 7 % 7, i % 7 + i % 3, i / 7 % 7 + i % 2);
+                }
+                assertSameHits(vector, boxes, 2, 2, 4, 4, from, from + length);
+                assertSameHits(vector, boxes, 3, 3, 3, 3, from, from + length); // No area
+            }
+        }
+    }
+
+    @Test
+    void vectorMatchesScalarWithNaN() {
+        AabbKernel vector = vectorKernel();
+        Random random = new Random(7);
+        for (int length : LENGTHS) {
+            for (int from : OFFSETS) {
+                Boxes boxes = Boxes.random(from + length, random);
+                for (int i = from; i < from + length; i += 3) {
+                    boxes.edge(i % 4)[i] = Float.NaN;
+                }
+                assertSameHits(vector, boxes, 10, 10, 30, 30, from, from + length);
+                assertSameHits(vector, boxes, Float.NaN, 10, 30, 30, from, from + length);
+            }
+        }
+    }
+
+    @Test
+    void vectorFindsEveryBoxOfAFullRun() {
+        AabbKernel vector = vectorKernel();
+        for (int length : LENGTHS) {
+            Boxes boxes = new Boxes(length);
+            for (int i = 0; i < length; i++) {
+                boxes.set(i, 0, 0, 10, 10);
+            }
+            int[] hits = new int[length];
+            assertEquals(length, vector.overlaps(1, 1, 2, 2, boxes.minX, boxes.minY, boxes.maxX, boxes.maxY,
+                0, length, hits));
+            for (int i = 0; i < length; i++) {
+                assertEquals(i, hits[i]);
+            }
+        }
+    }
+
+    private static AabbKernel vectorKernel() {
+        AabbKernel vector = AabbKernel.vector();
+        assumeTrue(vector != null, "Needs --add-modules jdk.incubator.vector");
+        return vector;
+    }
+
+    private static void assertSameHits(AabbKernel vector, Boxes boxes, float minX, float minY, float maxX, float maxY,
+                                       int from, int to) {
+        // Filled with -1 so that a kernel writing past its count is caught too
+        int[] expected = new int[to - from + 1];
+        int[] actual = new int[to - from + 1];
+        Arrays.fill(expected, -1);
+        Arrays.fill(actual, -1);
+        int expectedCount = AabbKernel.scalar().overlaps(minX, minY, maxX, maxY,
+            boxes.minX, boxes.minY, boxes.maxX, boxes.maxY, from, to, expected);
+        int actualCount = vector.overlaps(minX, minY, maxX, maxY,
+            boxes.minX, boxes.minY, boxes.maxX, boxes.maxY, from, to, actual);
+        String where = "from " + from + " to " + to;
+        assertEquals(expectedCount, actualCount, where);
+        assertArrayEquals(expected, actual, where);
+    }
+
+    private static int[] lengths() {
+        int[] lengths = new int[34 + 5];
+        for (int i = 0; i <= 33; i++) {
+            lengths[i] = i;
+        }
+        lengths[34] = 63;
+        lengths[35] = 64;
+        lengths[36] = 65;
+        lengths[37] = 100;
+        lengths[38] = 1000;
+        return lengths;
+    }
+
+    private static class Boxes {
+        final float[] minX;
+        final float[] minY;
+        final float[] maxX;
+        final float[] maxY;
+
+        Boxes(int size) {
+            minX = new float[size];
+            minY = new float[size];
+            maxX = new float[size];
+            maxY = new float[size];
+        }
+
+        static Boxes random(int size, Random random) {
+            Boxes boxes = new Boxes(size);
+            for (int i = 0; i < size; i++) {
+                float x = random.nextInt(60);
+                float y = random.nextInt(60);
+                boxes.set(i, x, y, x + random.nextInt(15), y + random.nextInt(15));
+            }
+            return boxes;
+        }
+
+        void set(int i, float minX, float minY, float maxX, float maxY) {
+            this.minX[i] = minX;
+            this.minY[i] = minY;
+            this.maxX[i] = maxX;
+            this.maxY[i] = maxY;
+        }
+
+        float[] edge(int edge) {
+            switch (edge) {
+                case 0: return minX;
+                case 1: return minY;
+                case 2: return maxX;
+                default: return maxY;
+            }
+        }
+    }
+}
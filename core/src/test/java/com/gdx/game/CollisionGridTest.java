@@ -0,0 +1,142 @@
+package com.gdx.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CollisionGridTest {
+
+    private static final float CELL_SIZE = 50;
+    private static final float WIDTH = 600;
+    private static final float HEIGHT = 400;
+
+    @Test
+    void findsTheSamePairsAsBruteForce() {
+        Random random = new Random(42);
+        CollisionGrid grid = new CollisionGrid(CELL_SIZE, AabbKernel.scalar());
+        for (int layout = 0; layout < 200; layout++) {
+            // Sizes up to three cells, so many entities span several cells; some stick out of the grid
+            EntityStore entities = randomStore(random, 1 + random.nextInt(60), 3 * CELL_SIZE);
+            EntityStore queries = randomStore(random, 1 + random.nextInt(30), 2 * CELL_SIZE);
+            for (int i = 0; i < entities.size(); i++) {
+                if (random.nextInt(8) == 0) entities.kill(i);
+            }
+
+            grid.setBounds(0, 0, WIDTH, HEIGHT);
+            grid.build(entities);
+            List<Long> found = new ArrayList<>();
+            grid.query(queries, (query, entity) -> found.add(pair(query, entity)));
+
+            // Cells are visited in grid order, so sort; a pair reported twice would still show up
+            found.sort(null);
+            assertEquals(bruteForce(queries, entities), found, "layout " + layout);
+        }
+    }
+
+    @Test
+    void reportsAnEntitySpanningManyCellsOnce() {
+        EntityStore entities = new EntityStore(4);
+        entities.add(10, 10, 5 * CELL_SIZE, 5 * CELL_SIZE, 0);
+        entities.add(300, 300, 10, 10, 0);
+        CollisionGrid grid = new CollisionGrid(CELL_SIZE, AabbKernel.scalar());
+        grid.setBounds(0, 0, WIDTH, HEIGHT);
+        grid.build(entities);
+
+        // The query covers all 25 cells of the first entity
+        List<Long> found = new ArrayList<>();
+        for (int repeat = 0; repeat < 3; repeat++) {
+            grid.queryBox(0, 0, 6 * CELL_SIZE, 6 * CELL_SIZE, repeat, (query, entity) -> found.add(pair(query, entity)));
+        }
+
+        assertEquals(List.of(pair(0, 0), pair(1, 0), pair(2, 0)), found);
+    }
+
+    @Test
+    void clampsEntitiesOutsideTheBoundsIntoEdgeCells() {
+        EntityStore entities = new EntityStore(4);
+        entities.add(-500, -500, 100, 100, 0);
+        entities.add(WIDTH + 100, HEIGHT + 100, 100, 100, 0);
+        CollisionGrid grid = new CollisionGrid(CELL_SIZE, AabbKernel.scalar());
+        grid.setBounds(0, 0, WIDTH, HEIGHT);
+        grid.build(entities);
+
+        List<Long> found = new ArrayList<>();
+        grid.queryBox(-450, -450, 10, 10, 0, (query, entity) -> found.add(pair(query, entity)));
+        grid.queryBox(WIDTH + 150, HEIGHT + 150, 10, 10, 1, (query, entity) -> found.add(pair(query, entity)));
+        grid.queryBox(WIDTH / 2, HEIGHT / 2, 10, 10, 2, (query, entity) -> found.add(pair(query, entity)));
+
+        assertEquals(List.of(pair(0, 0), pair(1, 1)), found);
+    }
+
+    @Test
+    void stopsQueryingAnEntityTheListenerKilled() {
+        EntityStore entities = new EntityStore(4);
+        entities.add(0, 0, 40, 40, 0);
+        entities.add(20, 20, 40, 40, 0);
+        EntityStore queries = new EntityStore(4);
+        queries.add(30, 30, 5, 5, 0);
+        CollisionGrid grid = new CollisionGrid(CELL_SIZE, AabbKernel.scalar());
+        grid.setBounds(0, 0, WIDTH, HEIGHT);
+        grid.build(entities);
+
+        List<Long> found = new ArrayList<>();
+        grid.query(queries, (query, entity) -> {
+            found.add(pair(query, entity));
+            queries.kill(query);
+        });
+
+        assertEquals(1, found.size());
+    }
+
+    @Test
+    void touchingBoxesDoNotCollide() {
+        EntityStore entities = new EntityStore(4);
+        entities.add(CELL_SIZE, CELL_SIZE, CELL_SIZE, CELL_SIZE, 0);
+        CollisionGrid grid = new CollisionGrid(CELL_SIZE, AabbKernel.scalar());
+        grid.setBounds(0, 0, WIDTH, HEIGHT);
+        grid.build(entities);
+
+        List<Long> found = new ArrayList<>();
+        grid.queryBox(0, 0, CELL_SIZE, CELL_SIZE, 0, (query, entity) -> found.add(pair(query, entity)));
+        grid.queryBox(2 * CELL_SIZE, CELL_SIZE, 10, 10, 1, (query, entity) -> found.add(pair(query, entity)));
+
+        assertTrue(found.isEmpty(), found.toString());
+    }
+
+    private static EntityStore randomStore(Random random, int count, float maxSize) {
+        EntityStore store = new EntityStore(4);
+        for (int i = 0; i < count; i++) {
+            float x = random.nextFloat() * (WIDTH + 200) - 100;
+            float y = random.nextFloat() * (HEIGHT + 200) - 100;
+            store.add(x, y, 1 + random.nextFloat() * maxSize, 1 + random.nextFloat() * maxSize, 0);
+        }
+        return store;
+    }
+
+    /** Every overlapping pair with a live entity, sorted by query and then entity. */
+    private static List<Long> bruteForce(EntityStore queries, EntityStore entities) {
+        List<Long> pairs = new ArrayList<>();
+        for (int q = 0; q < queries.size(); q++) {
+            for (int e = 0; e < entities.size(); e++) {
+                if (entities.isAlive(e) && overlap(queries, q, entities, e)) {
+                    pairs.add(pair(q, e));
+                }
+            }
+        }
+        return pairs;
+    }
+
+    private static boolean overlap(EntityStore a, int i, EntityStore b, int j) {
+        return a.getX(i) < b.getX(j) + b.getWidth(j) && a.getX(i) + a.getWidth(i) > b.getX(j)
+            && a.getY(i) < b.getY(j) + b.getHeight(j) && a.getY(i) + a.getHeight(i) > b.getY(j);
+    }
+
+    private static long pair(int query, int entity) {
+        return (long) query << 32 | entity;
+    }
+}
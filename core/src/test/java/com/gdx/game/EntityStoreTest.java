@@ -0,0 +1,155 @@
+package com.gdx.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityStoreTest {
+
+    @Test
+    void addsAtTheEndAndGrowsWithoutLosingEntities() {
+        EntityStore store = new EntityStore(4);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, store.add(i, 10 * i, 1, 2, i % 3));
+        }
+
+        assertEquals(10, store.size());
+        assertTrue(store.capacity() >= 10);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, store.getX(i));
+            assertEquals(10 * i, store.getY(i));
+            assertEquals(i % 3, store.getTextureId(i));
+            assertTrue(store.isAlive(i));
+        }
+    }
+
+    @Test
+    void removeAtMovesTheLastEntityIntoTheGap() {
+        EntityStore store = store(5);
+        store.setPosition(4, 40, 41);
+        store.storePreviousPositions();
+        store.setPosition(4, 42, 43);
+
+        store.removeAt(1);
+
+        assertEquals(4, store.size());
+        assertEquals(42, store.getX(1));
+        assertEquals(43, store.getY(1));
+        assertEquals(40, store.getInterpolatedX(1, 0));
+        assertEquals(41, store.getInterpolatedY(1, 0));
+        assertEquals(4, store.getTextureId(1));
+        assertEquals(3, store.getTextureId(3));
+    }
+
+    @Test
+    void removingTheLastEntityOnlyShrinks() {
+        EntityStore store = store(3);
+
+        store.removeAt(2);
+
+        assertEquals(2, store.size());
+        assertEquals(0, store.getTextureId(0));
+        assertEquals(1, store.getTextureId(1));
+    }
+
+    @Test
+    void removeDeadKeepsEveryLiveEntityOnce() {
+        EntityStore store = store(8);
+        // Dead ones at the front, back and next to each other, so swapped-in entities are checked too
+        store.kill(0);
+        store.kill(3);
+        store.kill(4);
+        store.kill(7);
+
+        store.removeDead();
+
+        assertEquals(4, store.size());
+        boolean[] seen = new boolean[8];
+        for (int i = 0; i < store.size(); i++) {
+            assertTrue(store.isAlive(i));
+            int id = store.getTextureId(i);
+            assertFalse(seen[id], "entity " + id + " twice");
+            seen[id] = true;
+        }
+        assertTrue(seen[1] && seen[2] && seen[5] && seen[6]);
+    }
+
+    @Test
+    void killOutsideKeepsEntitiesTouchingTheRange() {
+        EntityStore store = new EntityStore(4);
+        store.add(0, -20, 10, 10, 0); // Entirely below
+        store.add(0, -10, 10, 10, 1); // Top edge on minY: nothing left inside
+        store.add(0, -9, 10, 10, 2); // One pixel inside
+        store.add(0, 100, 10, 10, 3); // Bottom edge on maxY
+        store.add(0, 101, 10, 10, 4); // Entirely above
+
+        store.killOutside(0, 100);
+
+        assertFalse(store.isAlive(0));
+        assertFalse(store.isAlive(1));
+        assertTrue(store.isAlive(2));
+        assertTrue(store.isAlive(3));
+        assertFalse(store.isAlive(4));
+        store.removeDead();
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void copyFromMakesAnExactCopy() {
+        EntityStore source = store(20);
+        source.storePreviousPositions();
+        source.translateAll(1, -2);
+        source.kill(5);
+        EntityStore copy = new EntityStore(4);
+        copy.add(99, 99, 99, 99, 99);
+
+        copy.copyFrom(source);
+
+        assertEquals(source.size(), copy.size());
+        for (int i = 0; i < source.size(); i++) {
+            assertEquals(source.getX(i), copy.getX(i));
+            assertEquals(source.getY(i), copy.getY(i));
+            assertEquals(source.getInterpolatedX(i, 0), copy.getInterpolatedX(i, 0));
+            assertEquals(source.getInterpolatedY(i, 0), copy.getInterpolatedY(i, 0));
+            assertEquals(source.getWidth(i), copy.getWidth(i));
+            assertEquals(source.getHeight(i), copy.getHeight(i));
+            assertEquals(source.getTextureId(i), copy.getTextureId(i));
+            assertEquals(source.isAlive(i), copy.isAlive(i));
+        }
+    }
+
+    @Test
+    void copyFromShrinksWithoutReallocating() {
+        EntityStore copy = store(20);
+        int capacity = copy.capacity();
+
+        copy.copyFrom(store(2));
+
+        assertEquals(2, copy.size());
+        assertEquals(capacity, copy.capacity());
+        assertEquals(1, copy.getTextureId(1));
+    }
+
+    @Test
+    void interpolatesBetweenSnapshots() {
+        EntityStore store = new EntityStore(4);
+        store.add(0, 0, 1, 1, 0);
+        store.storePreviousPositions();
+        store.setPosition(0, 10, -20);
+
+        assertEquals(0, store.getInterpolatedX(0, 0));
+        assertEquals(5, store.getInterpolatedX(0, 0.5f));
+        assertEquals(-20, store.getInterpolatedY(0, 1));
+    }
+
+    /** A store of {@code count} entities whose texture id is their original index. */
+    private static EntityStore store(int count) {
+        EntityStore store = new EntityStore(4);
+        for (int i = 0; i < count; i++) {
+            store.add(i, 2 * i, 3, 4, i);
+        }
+        return store;
+    }
+}
@@ -0,0 +1,72 @@
+package com.gdx.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class RaceSimulationTest {
+
+    private static final int TICKS_PER_SECOND = 60;
+    private static final int MAX_TICKS = 60 * TICKS_PER_SECOND;
+    private static final long SEED = 4242;
+
+    @Test
+    void ticksWithoutAllocating() {
+        AllocationMetrics metrics = new AllocationMetrics();
+        try {
+            assumeTrue(metrics.isAllocationSupported(), "Needs per-thread allocation counters");
+            RaceSimulation simulation = new RaceSimulation(1080, 800, TICKS_PER_SECOND);
+            int[] inputs = recordBotRace(simulation);
+            InputState input = new InputState();
+            // The first run grew the entity pools and grid to the size this race needs
+            simulation.reset(SEED);
+            long bytes = metrics.allocatedBytes(() -> {
+                for (int bits : inputs) {
+                    input.setBits(bits);
+                    simulation.tick(input);
+                }
+            });
+
+            assertTrue(simulation.getTick() > 10 * TICKS_PER_SECOND, "race too short: " + simulation.getTick());
+            assertEquals(0, bytes, "bytes allocated over " + inputs.length + " ticks");
+        } finally {
+            metrics.dispose();
+        }
+    }
+
+    @Test
+    void sameSeedAndInputsGiveTheSameRace() {
+        RaceSimulation first = new RaceSimulation(1080, 800, TICKS_PER_SECOND);
+        int[] inputs = recordBotRace(first);
+        RaceSimulation second = new RaceSimulation(1080, 800, TICKS_PER_SECOND);
+        second.reset(SEED);
+        InputState input = new InputState();
+        for (int bits : inputs) {
+            input.setBits(bits);
+            second.tick(input);
+        }
+
+        assertEquals(first.getTick(), second.getTick());
+        assertEquals(first.getScore(), second.getScore());
+        assertEquals(first.getEnemies().size(), second.getEnemies().size());
+        assertEquals(first.getCarX(), second.getCarX());
+    }
+
+    /** Races the bot from {@link #SEED} and returns the input of every tick. */
+    private static int[] recordBotRace(RaceSimulation simulation) {
+        simulation.reset(SEED);
+        ScriptedBot bot = new ScriptedBot();
+        int[] inputs = new int[MAX_TICKS];
+        int ticks = 0;
+        while (!simulation.isGameOver() && ticks < MAX_TICKS) {
+            InputState input = bot.decide(simulation);
+            inputs[ticks++] = input.getBits();
+            simulation.tick(input);
+        }
+        return Arrays.copyOf(inputs, ticks);
+    }
+}
@@ -0,0 +1,161 @@
+package com.gdx.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RenderQueueTest {
+
+    private static final int LAYERS = 3;
+    private static final int TEXTURES = 4;
+
+    private RenderQueue queue;
+    private RecordingBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        queue = new RenderQueue(LAYERS, TEXTURES, 16);
+        backend = new RecordingBackend();
+    }
+
+    @Test
+    void drawsByLayerThenTexture() {
+        // x records the order the sprites were queued in
+        sprite(2, 0, 0);
+        sprite(0, 3, 1);
+        sprite(1, 1, 2);
+        sprite(0, 1, 3);
+        sprite(1, 0, 4);
+        sprite(2, 3, 5);
+
+        queue.submit(backend);
+
+        assertOrder(new int[] {0, 1, 0, 1, 2, 2}, new int[] {1, 3, 0, 1, 0, 3}, new float[] {3, 1, 4, 2, 0, 5});
+    }
+
+    @Test
+    void keepsQueueOrderWithinALayerAndTexture() {
+        for (int i = 0; i < 50; i++) {
+            sprite(i % 2, i % 3, i);
+        }
+
+        queue.submit(backend);
+
+        float previous = -1;
+        int previousKey = -1;
+        for (int i = 0; i < backend.getSpriteCount(); i++) {
+            int layer = (int) backend.getX(i) % 2;
+            int key = layer * TEXTURES + backend.getTexture(i);
+            if (key == previousKey) {
+                assertTrue(backend.getX(i) > previous, "sprite " + backend.getX(i) + " after " + previous);
+            } else {
+                assertTrue(key > previousKey, "key " + key + " after " + previousKey);
+            }
+            previousKey = key;
+            previous = backend.getX(i);
+        }
+    }
+
+    @Test
+    void passesSpritesThroughUnchanged() {
+        queue.sprite(1, 2, 10, 20, 30, 40, 0.25f, 0.75f, 0.5f, 0.125f);
+
+        queue.submit(backend);
+
+        assertEquals(1, backend.getSpriteCount());
+        assertEquals(2, backend.getTexture(0));
+        assertEquals(10, backend.getX(0), 0);
+        assertEquals(20, backend.getY(0), 0);
+        assertEquals(30, backend.getWidth(0), 0);
+        assertEquals(40, backend.getHeight(0), 0);
+    }
+
+    @Test
+    void countsDrawCallsForAMixedQueue() {
+        // Crowd strips with their own textures under 25 entities sharing the atlas, queued interleaved
+        sprite(0, 1, 0);
+        for (int i = 0; i < 25; i++) {
+            sprite(1, 0, i);
+            if (i == 10) sprite(0, 2, i);
+        }
+
+        assertEquals(27, queue.size());
+        queue.submit(backend);
+
+        assertEquals(27, backend.getSpriteCount());
+        assertEquals(2, backend.getTextureSwitches()); // Crowd 1, crowd 2, atlas
+        assertEquals(3, backend.getDrawCalls(1000));
+        assertEquals(2 + 3, backend.getDrawCalls(10)); // 25 atlas sprites need three batches of 10
+        assertEquals(27, backend.getDrawCalls(1));
+    }
+
+    @Test
+    void unsortedDrawsWouldFlushMore() {
+        // The same kind of frame drawn in queue order, for comparison
+        for (int i = 0; i < 20; i++) {
+            backend.draw(i % 2, i, 0, 1, 1, 0, 0, 1, 1);
+        }
+        assertEquals(20, backend.getDrawCalls(1000));
+
+        backend.clear();
+        for (int i = 0; i < 20; i++) {
+            sprite(1, i % 2, i);
+        }
+        queue.submit(backend);
+        assertEquals(2, backend.getDrawCalls(1000));
+    }
+
+    @Test
+    void reusesItsArraysFromFrameToFrame() {
+        for (int i = 0; i < 100; i++) {
+            sprite(i % LAYERS, i % TEXTURES, i);
+        }
+        queue.submit(backend);
+        int capacity = queue.capacity();
+        assertEquals(0, queue.size());
+
+        for (int frame = 0; frame < 10; frame++) {
+            backend.clear();
+            for (int i = 0; i < 100; i++) {
+                sprite(i % LAYERS, (i + frame) % TEXTURES, i);
+            }
+            queue.submit(backend);
+
+            assertEquals(100, backend.getSpriteCount());
+            assertEquals(capacity, queue.capacity());
+        }
+    }
+
+    @Test
+    void clearDropsQueuedSprites() {
+        sprite(0, 0, 0);
+        queue.clear();
+
+        queue.submit(backend);
+
+        assertEquals(0, backend.getSpriteCount());
+        assertEquals(0, backend.getDrawCalls(1000));
+    }
+
+    @Test
+    void rejectsUnknownLayersAndTextures() {
+        assertThrows(IllegalArgumentException.class, () -> sprite(LAYERS, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> sprite(0, TEXTURES, 0));
+        assertThrows(IllegalArgumentException.class, () -> sprite(-1, 0, 0));
+    }
+
+    private void sprite(int layer, int texture, float x) {
+        queue.sprite(layer, texture, x, 0, 1, 1, 0, 0, 1, 1);
+    }
+
+    private void assertOrder(int[] layers, int[] textures, float[] xs) {
+        assertEquals(xs.length, backend.getSpriteCount());
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(textures[i], backend.getTexture(i), "texture of sprite " + i);
+            assertEquals(xs[i], backend.getX(i), 0, "sprite " + i + " on layer " + layers[i]);
+        }
+    }
+}
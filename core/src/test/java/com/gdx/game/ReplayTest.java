@@ -0,0 +1,134 @@
+package com.gdx.game;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayTest {
+
+    private static final int TICKS_PER_SECOND = 60;
+    private static final long MAX_TICKS = 60 * TICKS_PER_SECOND;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void playbackEndsWithTheRecordedScoreAndTick() throws IOException {
+        Path file = directory.resolve("run-1.rpl");
+        RaceSimulation recorded = record(file, 12345, false);
+
+        RaceSimulation replayed = play(file);
+
+        assertTrue(recorded.getTick() > 0);
+        assertEquals(recorded.getTick(), replayed.getTick());
+        assertEquals(recorded.getScore(), replayed.getScore());
+        assertEquals(recorded.isGameOver(), replayed.isGameOver());
+        assertEquals(recorded.getCarX(), replayed.getCarX());
+    }
+
+    @Test
+    void playbackFollowsResizesMadeDuringTheRace() throws IOException {
+        Path file = directory.resolve("run-2.rpl");
+        RaceSimulation recorded = record(file, 777, true);
+
+        RaceSimulation replayed = play(file);
+
+        assertEquals(1400, recorded.getWorldWidth()); // Both resizes happened before the race ended
+        assertEquals(recorded.getTick(), replayed.getTick());
+        assertEquals(recorded.getScore(), replayed.getScore());
+        assertEquals(recorded.getWorldWidth(), replayed.getWorldWidth());
+        assertEquals(recorded.getWorldHeight(), replayed.getWorldHeight());
+        assertEquals(recorded.getCarX(), replayed.getCarX());
+    }
+
+    @Test
+    void checkRulesNoticesOtherWavesAndDifficulty() throws IOException {
+        Path file = directory.resolve("run-3.rpl");
+        record(file, 1, false);
+        ReplayPlayer replay = new ReplayPlayer(file);
+
+        assertNull(replay.checkRules(SpawnTable.DEFAULT, DifficultyParams.DEFAULT));
+        // Comments and layout are not part of the rules
+        assertNull(replay.checkRules(SpawnTable.parse("# Same waves\nlanes 4\n\npattern one\n0  0\nwave one 0 60 1 1\n"),
+            DifficultyParams.DEFAULT));
+        assertNotNull(replay.checkRules(SpawnTable.parse("lanes 4\npattern single\n0 0\nwave single 0 60 1 2\n"),
+            DifficultyParams.DEFAULT));
+        assertNotNull(replay.checkRules(SpawnTable.DEFAULT, new DifficultyParams(300, 30, 10, 2, 180, 256)));
+    }
+
+    @Test
+    void rejectsOtherVersions() throws IOException {
+        Path file = directory.resolve("run-4.rpl");
+        record(file, 1, false);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[4] = 1; // The version follows the magic
+        Files.write(file, bytes);
+
+        assertThrows(IOException.class, () -> new ReplayPlayer(file));
+    }
+
+    @Test
+    void keepsOnlyTheNewestReplays() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            Files.createFile(directory.resolve("run-100" + i + InputRecorder.EXTENSION));
+        }
+        Files.createFile(directory.resolve("notes.txt"));
+        RaceSimulation simulation = new RaceSimulation(1080, 800, TICKS_PER_SECOND);
+        InputRecorder recorder = new InputRecorder(directory.resolve("run-2000" + InputRecorder.EXTENSION), 1, simulation);
+
+        recorder.deleteOlderReplays(3);
+        recorder.close();
+        recorder.awaitWritten(5, TimeUnit.SECONDS);
+
+        assertTrue(Files.exists(directory.resolve("run-2000.rpl")));
+        assertTrue(Files.exists(directory.resolve("run-1004.rpl")));
+        assertTrue(Files.exists(directory.resolve("run-1003.rpl")));
+        assertFalse(Files.exists(directory.resolve("run-1002.rpl")));
+        assertTrue(Files.exists(directory.resolve("notes.txt")));
+    }
+
+    /** Plays a bot race into {@code file} the way CarGame records one; returns the finished simulation. */
+    private static RaceSimulation record(Path file, long seed, boolean resize) throws IOException {
+        RaceSimulation simulation = new RaceSimulation(1080, 800, TICKS_PER_SECOND, DifficultyParams.DEFAULT,
+            SpawnTable.DEFAULT);
+        simulation.reset(seed);
+        ScriptedBot bot = new ScriptedBot();
+        InputRecorder recorder = new InputRecorder(file, seed, simulation);
+        while (!simulation.isGameOver() && simulation.getTick() < MAX_TICKS) {
+            if (resize && simulation.getTick() == 30) {
+                simulation.setWorldSize(700, 600);
+            } else if (resize && simulation.getTick() == 90) {
+                simulation.setWorldSize(1400, 900);
+            }
+            InputState input = bot.decide(simulation);
+            recorder.recordWorldSize(simulation.getWorldWidth(), simulation.getWorldHeight());
+            recorder.record(input.getBits());
+            simulation.tick(input);
+        }
+        recorder.close();
+        recorder.awaitWritten(5, TimeUnit.SECONDS);
+        return simulation;
+    }
+
+    private static RaceSimulation play(Path file) throws IOException {
+        ReplayPlayer replay = new ReplayPlayer(file);
+        RaceSimulation simulation = replay.createSimulation(SpawnTable.DEFAULT);
+        InputState input = new InputState();
+        while (replay.hasNext() && !simulation.isGameOver()) {
+            input.setBits(replay.nextBits(simulation));
+            simulation.tick(input);
+        }
+        return simulation;
+    }
+}
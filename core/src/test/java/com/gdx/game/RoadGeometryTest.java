@@ -0,0 +1,142 @@
+package com.gdx.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoadGeometryTest {
+
+    private static final float PERIOD = RoadGeometry.PATTERN_PERIOD;
+    private static final int FLOATS_PER_QUAD = 4 * RoadGeometry.FLOATS_PER_VERTEX;
+
+    @Test
+    void countsVerticesAndIndicesPerQuad() {
+        RoadGeometry geometry = new RoadGeometry();
+        geometry.build(1080, 800);
+
+        int rows = (int) Math.ceil(800 / PERIOD) + 1;
+        int quads = 1 + rows * 5; // Asphalt, then a dash and two kerb segments per side for every row
+        assertEquals(quads * FLOATS_PER_QUAD, geometry.getVertexFloatCount());
+        assertEquals(quads * 6, geometry.getIndexCount());
+
+        short[] indices = geometry.getIndices();
+        for (int quad = 0; quad < quads; quad++) {
+            int first = quad * 4;
+            int[] expected = {first, first + 1, first + 2, first + 2, first + 3, first};
+            for (int i = 0; i < 6; i++) {
+                assertEquals(expected[i], indices[quad * 6 + i], "index " + i + " of quad " + quad);
+            }
+        }
+    }
+
+    @Test
+    void reusesArraysWhenTheRoadShrinks() {
+        RoadGeometry geometry = new RoadGeometry();
+        geometry.build(1080, 1600);
+        float[] vertices = geometry.getVertices();
+        short[] indices = geometry.getIndices();
+
+        geometry.build(800, 600);
+
+        assertSame(vertices, geometry.getVertices());
+        assertSame(indices, geometry.getIndices());
+        assertEquals((1 + RoadGeometry.rowCount(600) * 5) * 6, geometry.getIndexCount());
+    }
+
+    @Test
+    void rejectsRoadsTooTallForShortIndices() {
+        assertThrows(IllegalArgumentException.class, () -> new RoadGeometry().build(1080, 1_000_000));
+    }
+
+    @Test
+    void patternOffsetWrapsIntoOnePeriod() {
+        assertEquals(0, RoadGeometry.patternOffset(0), 0);
+        assertEquals(0, RoadGeometry.patternOffset(PERIOD), 0);
+        assertEquals(5, RoadGeometry.patternOffset(PERIOD + 5), 0);
+        assertEquals(PERIOD - 5, RoadGeometry.patternOffset(-5), 1e-4f);
+        assertEquals(PERIOD - 1, RoadGeometry.patternOffset(3 * PERIOD - 1), 0);
+        // A long race: the distance is a double, so the offset stays exact where a float would not
+        assertEquals(7, RoadGeometry.patternOffset(1_000_000_000.0 * PERIOD + 7), 1e-3f);
+        for (double distance = -1000; distance < 1000; distance += 0.75) {
+            float offset = RoadGeometry.patternOffset(distance);
+            assertTrue(offset >= 0 && offset < PERIOD, "offset " + offset + " at " + distance);
+        }
+    }
+
+    @Test
+    void placesLaneDashesInTheMiddleOnePeriodApart() {
+        RoadGeometry geometry = new RoadGeometry();
+        geometry.build(1080, 800);
+        float[] vertices = geometry.getVertices();
+
+        float dashX = 1080 / 2f - RaceSimulation.LANE_LINE_WIDTH / 2f;
+        for (int row = 0; row < RoadGeometry.rowCount(800); row++) {
+            int dash = 1 + row * 5; // After the asphalt, the first quad of each row
+            assertEquals(dashX, x(vertices, dash, 0));
+            assertEquals(dashX + RaceSimulation.LANE_LINE_WIDTH, x(vertices, dash, 2));
+            assertEquals(row * PERIOD, y(vertices, dash, 0));
+            assertEquals(row * PERIOD + RaceSimulation.LANE_LINE_HEIGHT, y(vertices, dash, 2));
+            assertEquals(1, scroll(vertices, dash), 0);
+        }
+    }
+
+    @Test
+    void kerbsAlternateRedAndWhiteOnBothSides() {
+        RoadGeometry geometry = new RoadGeometry();
+        geometry.build(1080, 800);
+        float[] vertices = geometry.getVertices();
+        float red = RoadGeometry.packColor(1, 0, 0, 1);
+        float white = RoadGeometry.packColor(1, 1, 1, 1);
+        float rightKerbX = 1080 - RaceSimulation.GRASS_WIDTH - RaceSimulation.BORDER_WIDTH;
+
+        for (int row = 0; row < RoadGeometry.rowCount(800); row++) {
+            int first = 1 + row * 5;
+            assertEquals(RaceSimulation.GRASS_WIDTH, x(vertices, first + 1, 0));
+            assertEquals(red, color(vertices, first + 1));
+            assertEquals(white, color(vertices, first + 2));
+            assertEquals(rightKerbX, x(vertices, first + 3, 0));
+            assertEquals(red, color(vertices, first + 3));
+            assertEquals(white, color(vertices, first + 4));
+            assertEquals(y(vertices, first + 1, 2), y(vertices, first + 2, 0)); // White starts where red ends
+        }
+    }
+
+    @Test
+    void asphaltStaysStillAndMarkingsCoverTheScreenAtAnyOffset() {
+        for (float height : new float[] {600, 800, 1080, 99, 100, 101}) {
+            RoadGeometry geometry = new RoadGeometry();
+            geometry.build(1080, height);
+            float[] vertices = geometry.getVertices();
+            int quads = geometry.getIndexCount() / 6;
+
+            assertEquals(0, scroll(vertices, 0), 0);
+            assertEquals(height, y(vertices, 0, 2));
+            float top = 0;
+            for (int quad = 1; quad < quads; quad++) {
+                assertEquals(1, scroll(vertices, quad), 0);
+                top = Math.max(top, y(vertices, quad, 2));
+            }
+            // The shader moves the markings down by up to one period
+            assertTrue(top - PERIOD >= height, "markings end at " + top + " for a height of " + height);
+        }
+    }
+
+    private static float x(float[] vertices, int quad, int corner) {
+        return vertices[quad * FLOATS_PER_QUAD + corner * RoadGeometry.FLOATS_PER_VERTEX];
+    }
+
+    private static float y(float[] vertices, int quad, int corner) {
+        return vertices[quad * FLOATS_PER_QUAD + corner * RoadGeometry.FLOATS_PER_VERTEX + 1];
+    }
+
+    private static float color(float[] vertices, int quad) {
+        return vertices[quad * FLOATS_PER_QUAD + 2];
+    }
+
+    private static float scroll(float[] vertices, int quad) {
+        return vertices[quad * FLOATS_PER_QUAD + 3];
+    }
+}
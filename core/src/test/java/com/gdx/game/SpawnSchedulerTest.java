@@ -0,0 +1,138 @@
+package com.gdx.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SpawnSchedulerTest {
+
+    private static final int TICKS_PER_SECOND = 60;
+
+    @Test
+    void spawnsAtEveryInterval() {
+        SpawnScheduler scheduler = scheduler("lanes 4\npattern p\n0 0\nwave p 0 2 0.5 0.5\n", 1);
+
+        assertEquals(4, scheduler.getTimelineLength());
+        assertEquals(List.of(0L, 30L, 60L, 90L), spawnTicks(scheduler, 0, 120));
+    }
+
+    @Test
+    void intervalsChangeLinearlyAndScaleWithDensity() {
+        // 1 s apart at the start, shrinking towards 0.5 s: spawns at 0, 1, 1.83 and 2.53 s
+        SpawnScheduler scheduler = scheduler("lanes 4\npattern p\n0 0\nwave p 0 3 1 0.5\n", 1);
+        assertEquals(List.of(0L, 60L, 110L, 152L), spawnTicks(scheduler, 0, 180));
+
+        SpawnScheduler doubled = scheduler("lanes 4\npattern p\n0 0\nwave p 0 2 1 1\n", 2);
+        assertEquals(List.of(0L, 30L, 60L, 90L), spawnTicks(doubled, 0, 120));
+    }
+
+    @Test
+    void handsOutSpawnsOfOneTickInPatternOrder() {
+        SpawnScheduler scheduler = scheduler(
+            "lanes 4\npattern a\n0 0\npattern b\n0 0\npattern c\n0 0\n"
+                + "wave c 0 1 2 2\nwave a 0 1 2 2\nwave b 0 1 2 2\n", 1);
+
+        assertEquals(0, scheduler.poll(0));
+        assertEquals(1, scheduler.poll(0));
+        assertEquals(2, scheduler.poll(0));
+        assertEquals(-1, scheduler.poll(0));
+        assertEquals(-1, scheduler.poll(1));
+    }
+
+    @Test
+    void loopsBackToTheLoopTime() {
+        // Spawns at 0, 1, 2 and 3 s; the waves end at 4 s and the timeline restarts from 2 s
+        SpawnScheduler scheduler = scheduler("lanes 4\npattern p\n0 0\nwave p 0 4 1 1\nloop 2\n", 1);
+
+        // The spawn at exactly the loop time comes round again, 2 s after the end
+        assertEquals(List.of(0L, 60L, 120L, 180L, 240L, 300L, 360L, 420L), spawnTicks(scheduler, 0, 480));
+    }
+
+    @Test
+    void wrapsOnTheTickThatEqualsTheLoopLength() {
+        // Loop from 0: one pass is 120 ticks, so tick 120 is the first of the second pass
+        SpawnScheduler scheduler = scheduler("lanes 4\npattern p\n0 0\nwave p 0 2 1 1\n", 1);
+
+        assertEquals(List.of(0L, 60L), spawnTicks(scheduler, 0, 120));
+        assertEquals(List.of(120L), spawnTicks(scheduler, 120, 121));
+        assertEquals(List.of(180L, 240L, 300L), spawnTicks(scheduler, 121, 360));
+    }
+
+    @Test
+    void keepsSpawnsThatRoundOntoTheEndTick() {
+        // The second spawn is at 0.995 s, which rounds to tick 60 where the one second wave ends
+        SpawnScheduler scheduler = scheduler("lanes 4\npattern p\n0 0\nwave p 0 1 0.995 0.995\n", 1);
+
+        assertEquals(2, scheduler.getTimelineLength());
+        // The pass is stretched by that one tick rather than losing the spawn
+        assertEquals(List.of(0L, 60L, 61L, 121L, 122L, 182L), spawnTicks(scheduler, 0, 183));
+    }
+
+    @Test
+    void loopAtTheEndStopsSpawning() {
+        SpawnScheduler scheduler = scheduler("lanes 4\npattern p\n0 0\nwave p 0 1 0.5 0.5\nloop 1\n", 1);
+
+        assertEquals(List.of(0L, 30L), spawnTicks(scheduler, 0, 600));
+    }
+
+    @Test
+    void resetStartsTheTimelineOver() {
+        SpawnScheduler scheduler = scheduler("lanes 4\npattern p\n0 0\nwave p 0 2 1 1\n", 1);
+        spawnTicks(scheduler, 0, 300);
+
+        scheduler.reset();
+
+        assertEquals(List.of(0L, 60L), spawnTicks(scheduler, 0, 120));
+    }
+
+    @Test
+    void packsTheHighestPatternId() {
+        // Pattern ids share a long with the tick and get 16 bits
+        int patterns = 1 << 16;
+        SpawnScheduler scheduler = new SpawnScheduler(manyPatterns(patterns, patterns - 1), TICKS_PER_SECOND, 1);
+
+        assertEquals(patterns - 1, scheduler.poll(0));
+        assertEquals(-1, scheduler.poll(0));
+    }
+
+    @Test
+    void rejectsPatternIdsThatDoNotFit() {
+        SpawnTable table = manyPatterns((1 << 16) + 1, 0);
+        assertThrows(IllegalArgumentException.class, () -> new SpawnScheduler(table, TICKS_PER_SECOND, 1));
+    }
+
+    @Test
+    void rejectsDensitiesThatNeverSpawn() {
+        assertThrows(IllegalArgumentException.class, () -> new SpawnScheduler(SpawnTable.DEFAULT, TICKS_PER_SECOND, 0));
+    }
+
+    private static SpawnScheduler scheduler(String table, float density) {
+        SpawnScheduler scheduler = new SpawnScheduler(SpawnTable.parse(table), TICKS_PER_SECOND, density);
+        scheduler.reset();
+        return scheduler;
+    }
+
+    /** Polls every tick in {@code [from, to)} the way a race does and returns the ticks that spawned. */
+    private static List<Long> spawnTicks(SpawnScheduler scheduler, long from, long to) {
+        List<Long> ticks = new ArrayList<>();
+        for (long tick = from; tick < to; tick++) {
+            while (scheduler.poll(tick) >= 0) {
+                ticks.add(tick);
+            }
+        }
+        return ticks;
+    }
+
+    private static SpawnTable manyPatterns(int count, int wavePattern) {
+        StringBuilder text = new StringBuilder("lanes 1\n");
+        for (int i = 0; i < count; i++) {
+            text.append("pattern p").append(i).append("\n0 0\n");
+        }
+        text.append("wave p").append(wavePattern).append(" 0 1 2 2\n");
+        return SpawnTable.parse(text.toString());
+    }
+}
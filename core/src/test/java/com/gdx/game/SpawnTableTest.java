@@ -0,0 +1,102 @@
+package com.gdx.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpawnTableTest {
+
+    @Test
+    void parsesPatternsWavesAndLoop() {
+        SpawnTable table = SpawnTable.parse(String.join("\n",
+            "# A comment line",
+            "lanes 5",
+            "",
+            "pattern pair   # Two side by side",
+            "0 0 yellow",
+            "1 0",
+            "pattern column",
+            "0 0 blue",
+            "0 2 blue",
+            "wave pair 0 30 2 1",
+            "wave column 20 40 3 3",
+            "loop 10"));
+
+        assertEquals(5, table.getLanes());
+        assertEquals(2, table.getPatternCount());
+        SpawnTable.Pattern pair = table.getPattern(0);
+        assertEquals("pair", pair.getName());
+        assertEquals(2, pair.size());
+        assertEquals(2, pair.getWidth());
+        assertEquals(RaceSimulation.TEXTURE_YELLOW_ENEMY, pair.getTexture(0));
+        assertEquals(SpawnTable.RANDOM_TEXTURE, pair.getTexture(1));
+        SpawnTable.Pattern column = table.getPattern(1);
+        assertEquals(1, column.getWidth());
+        assertEquals(2, column.getRow(1));
+        assertEquals(RaceSimulation.TEXTURE_BLUE_ENEMY, column.getTexture(1));
+
+        assertEquals(2, table.getWaves().size());
+        SpawnTable.Wave wave = table.getWaves().get(1);
+        assertEquals(1, wave.pattern);
+        assertEquals(20, wave.fromSeconds, 0);
+        assertEquals(40, wave.toSeconds, 0);
+        assertEquals(3, wave.startInterval, 0);
+        assertEquals(10, table.getLoopSeconds(), 0);
+    }
+
+    @Test
+    void shippedTableParses() throws IOException {
+        // Tests run from the core directory, tools from the project root
+        Path asset = Paths.get("..", "assets", SpawnTable.ASSET);
+        SpawnTable table = SpawnTable.loadIfExists(asset.toFile().exists() ? asset : Paths.get("assets", SpawnTable.ASSET));
+        assertTrue(table.getPatternCount() > 0);
+        assertTrue(table.getWaves().size() > 0);
+    }
+
+    @Test
+    void namesTheLineOfEachMistake() {
+        // Comments and blank lines count, so the number matches what an editor shows
+        assertError("line 3: lanes takes 1 values", "# Waves\n\nlanes\n");
+        assertError("line 1: lanes must be positive", "lanes 0\n");
+        assertError("line 1: For input string: \"four\"", "lanes four\n");
+        assertError("line 2: unknown keyword 0", "lanes 4\n0 0\n");
+        assertError("line 2: unknown keyword waves", "lanes 4\nwaves single 0 10 1 1\n");
+        assertError("line 3: expected <lane> <row> [yellow|blue]", "lanes 4\npattern p\n0 0 blue fast\n");
+        assertError("line 3: unknown color red", "lanes 4\npattern p\n0 0 red\n");
+        assertError("line 3: lane and row must not be negative", "lanes 4\npattern p\n-1 0\n");
+        assertError("line 4: pattern p is defined twice", "lanes 4\npattern p\n0 0\npattern p\n");
+        assertError("line 4: wave takes 5 values", "lanes 4\npattern p\n0 0\nwave p 0 10 1\n");
+        assertError("line 4: a wave must end after it starts, at or after 0", "lanes 4\npattern p\n0 0\nwave p 10 10 1 1\n");
+        assertError("line 4: a wave must end after it starts, at or after 0", "lanes 4\npattern p\n0 0\nwave p -1 10 1 1\n");
+        assertError("line 4: spawn intervals must be positive", "lanes 4\npattern p\n0 0\nwave p 0 10 1 0\n");
+        assertError("line 2: loop must not be negative", "lanes 4\nloop -1\n");
+        // Rows after a wave line no longer belong to the pattern above it
+        assertError("line 5: unknown keyword 1", "lanes 4\npattern p\n0 0\nwave p 0 10 1 1\n1 0\n");
+    }
+
+    @Test
+    void rejectsWavesOfUnknownPatterns() {
+        // Waves name patterns, and only those defined above them
+        assertError("line 2: unknown pattern late", "lanes 4\nwave late 0 10 1 1\npattern late\n0 0\n");
+        assertError("line 4: unknown pattern q", "lanes 4\npattern p\n0 0\nwave q 0 10 1 1\n");
+    }
+
+    @Test
+    void rejectsTablesThatCannotSpawn() {
+        assertError(SpawnTable.ASSET + ": no lanes line", "pattern p\n0 0\n");
+        assertError(SpawnTable.ASSET + ": pattern p has no enemies", "lanes 4\npattern p\n");
+        assertError(SpawnTable.ASSET + ": pattern p is wider than 2 lanes", "lanes 2\npattern p\n0 0\n2 0\n");
+    }
+
+    private static void assertError(String message, String text) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> SpawnTable.parse(text));
+        String expected = message.startsWith(SpawnTable.ASSET) ? message : SpawnTable.ASSET + " " + message;
+        assertEquals(expected, e.getMessage());
+    }
+}
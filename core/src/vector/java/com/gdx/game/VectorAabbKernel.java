@@ -0,0 +1,40 @@
+package com.gdx.game;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link AabbKernel} on the incubating Vector API: compares as many boxes per instruction as the
+ * CPU's widest float vectors hold (8 with AVX2), then turns the lane mask into indices. Runs
+ * shorter than a vector fall through to the scalar loop, which gives the same answers.
+ *
+ * <p>Needs {@code --add-modules jdk.incubator.vector}; get it with {@link AabbKernel#vector()}
+ * rather than directly, so that a JVM without the module falls back instead of failing.
+ */
+public final class VectorAabbKernel implements AabbKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public int overlaps(float minX, float minY, float maxX, float maxY,
+                        float[] boxMinX, float[] boxMinY, float[] boxMaxX, float[] boxMaxY,
+                        int from, int to, int[] hits) {
+        int count = 0;
+        int i = from;
+        int end = from + SPECIES.loopBound(to - from);
+        for (; i < end; i += SPECIES.length()) {
+            VectorMask<Float> overlap = FloatVector.fromArray(SPECIES, boxMaxX, i).compare(VectorOperators.GT, minX)
+                .and(FloatVector.fromArray(SPECIES, boxMinX, i).compare(VectorOperators.LT, maxX))
+                .and(FloatVector.fromArray(SPECIES, boxMaxY, i).compare(VectorOperators.GT, minY))
+                .and(FloatVector.fromArray(SPECIES, boxMinY, i).compare(VectorOperators.LT, maxY));
+            // Lanes come out lowest first, keeping the hits in ascending order
+            for (long lanes = overlap.toLong(); lanes != 0; lanes &= lanes - 1) {
+                hits[count++] = i + Long.numberOfTrailingZeros(lanes);
+            }
+        }
+        return ScalarAabbKernel.overlapsScalar(minX, minY, maxX, maxY, boxMinX, boxMinY, boxMaxX, boxMaxY,
+            i, to, hits, count);
+    }
+}
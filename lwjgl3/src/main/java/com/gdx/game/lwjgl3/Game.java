@@ -2,20 +2,19 @@ package com.gdx.game.lwjgl3;
 
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
-import com.gdx.game.MainMenuScreen;
+import com.gdx.game.RacingGame;
+import com.gdx.game.StartupTrace;
 
 public class Game {
     public static void main(String[] args) {
+        StartupTrace.mark(StartupTrace.MAIN);
+        if (StartupHelper.startNewJvmIfRequired(true)) return; // This handles macOS support and helps on Windows.
         createApplication();
     }
 
     private static void createApplication() {
-        new Lwjgl3Application(new com.badlogic.gdx.Game() {
-            @Override
-            public void create() {
-                this.setScreen(new MainMenuScreen(this));
-            }
-        }, getDefaultConfiguration());
+        StartupTrace.mark(StartupTrace.APPLICATION);
+        new Lwjgl3Application(new RacingGame(), getDefaultConfiguration());
 
     }
 
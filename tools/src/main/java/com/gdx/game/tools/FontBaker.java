@@ -0,0 +1,71 @@
+package com.gdx.game.tools;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.tools.bmfont.BitmapFontWriter;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+import java.io.File;
+
+/**
+ * Rasterizes a TrueType font at several pixel sizes into BMFont files that all share a single
+ * PNG page, so the game can draw every text size from one texture without scaling glyphs.
+ *
+ * <pre>
+ * FontBaker &lt;font.ttf&gt; &lt;output folder&gt; &lt;name&gt; &lt;size&gt;...
+ * </pre>
+ *
+ * Writes {@code <name>.png} and one {@code <name>-<size>.fnt} per size.
+ */
+public class FontBaker {
+
+    private static final int PAGE_SIZE = 1024;
+    private static final int PADDING = 2;
+
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.err.println("Usage: FontBaker <font.ttf> <output folder> <name> <size>...");
+            System.exit(1);
+        }
+        FileHandle fontFile = new FileHandle(new File(args[0]));
+        FileHandle outputFolder = new FileHandle(new File(args[1]));
+        String name = args[2];
+
+        // Pixmap needs the gdx natives; FreeType loads its own
+        GdxNativesLoader.load();
+
+        PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, PADDING, false);
+        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(fontFile);
+        int[] sizes = new int[args.length - 3];
+        FreeTypeFontGenerator.FreeTypeBitmapFontData[] fonts = new FreeTypeFontGenerator.FreeTypeBitmapFontData[sizes.length];
+        try {
+            for (int i = 0; i < sizes.length; i++) {
+                sizes[i] = Integer.parseInt(args[i + 3]);
+                FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
+                parameter.size = sizes[i];
+                parameter.packer = packer; // Every size goes onto the same page
+                fonts[i] = generator.generateData(parameter);
+            }
+        } finally {
+            generator.dispose();
+        }
+
+        if (packer.getPages().size != 1) {
+            throw new IllegalStateException(name + " needs " + packer.getPages().size + " pages of "
+                + PAGE_SIZE + "x" + PAGE_SIZE + "; raise PAGE_SIZE or bake fewer sizes");
+        }
+
+        outputFolder.deleteDirectory();
+        outputFolder.mkdirs();
+        String[] pageRefs = BitmapFontWriter.writePixmaps(packer.getPages(), outputFolder, name);
+        for (int i = 0; i < sizes.length; i++) {
+            BitmapFontWriter.FontInfo info = new BitmapFontWriter.FontInfo(name, sizes[i]);
+            BitmapFontWriter.writeFont(fonts[i], pageRefs, outputFolder.child(name + "-" + sizes[i] + ".fnt"),
+                info, PAGE_SIZE, PAGE_SIZE);
+            System.out.println("Baked " + name + " at " + sizes[i] + " px");
+        }
+        packer.dispose();
+    }
+}